@@ -16,7 +16,7 @@ public class Main extends Application {
 
         // Afficher les statistiques
         MazeAnalyzer analyzer = new MazeAnalyzer(maze);
-        AlgorithmComparisonView view = new AlgorithmComparisonView(analyzer);
+        AlgorithmComparisonView view = new AlgorithmComparisonView(analyzer.analyzeMaze());
 
         // Configurer la scène
         Scene scene = new Scene(view, 800, 600);
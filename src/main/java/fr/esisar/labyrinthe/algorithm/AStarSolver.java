@@ -3,7 +3,6 @@ package fr.esisar.labyrinthe.algorithm;
 import fr.esisar.labyrinthe.model.Maze;
 import fr.esisar.labyrinthe.model.Point;
 
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
@@ -11,24 +10,38 @@ import java.util.PriorityQueue;
 
 /**
  * Résout un labyrinthe en utilisant l'algorithme A*.
- * Retourne un SolverResult contenant la grille résolue et le nombre d'étapes effectuées.
+ * Retourne un SolverResult contenant le chemin trouvé et le nombre d'étapes effectuées.
  */
-public class AStarSolver {
+public class AStarSolver implements Solver {
     private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Directions possibles : haut, bas, gauche, droite
 
+    @Override
+    public String getName() {
+        return "A*";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.OBJECTS);
+    }
+
     /**
      * Résout le labyrinthe en utilisant l'algorithme A*.
      *
-     * @param maze Le labyrinthe à résoudre.
-     * @return Un SolverResult contenant la grille résolue et le nombre d'étapes.
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un SolverResult contenant le chemin trouvé, le nombre d'étapes et la taille maximale
+     *         de l'ensemble ouvert.
      */
-    public static SolverResult solve(Maze maze) {
-        char[][] grid = maze.getGrid();
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
         Point start = maze.getStart();
         Point end = maze.getEnd();
-        int rows = maze.getRows();
-        int cols = maze.getCols();
         int steps = 0; // Compteur pour le nombre d'étapes
+        int peakFrontier = 1; // Taille maximale de l'ensemble ouvert
 
         // Maps pour le suivi des scores et des chemins
         Map<Point, Integer> gScore = new HashMap<>(); // Coût du départ au nœud courant
@@ -47,12 +60,15 @@ public class AStarSolver {
 
         // Effectuer la recherche A*
         while (!openSet.isEmpty()) {
+            if (budget.isExhausted(steps)) {
+                return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+            }
             Point current = openSet.poll();
             steps++; // Incrémenter le compteur d'étapes
 
             // Si l'arrivée est atteinte, reconstruire le chemin et retourner le résultat
             if (current.equals(end)) {
-                return new SolverResult(reconstructPath(maze, cameFrom), steps);
+                return SolverResult.found(maze, reconstructPath(maze, cameFrom), steps, peakFrontier);
             }
 
             // Explorer les voisins
@@ -62,25 +78,26 @@ public class AStarSolver {
                 Point neighbor = new Point(nx, ny);
 
                 // Vérifier si le voisin est dans les limites et n'est pas un mur
-                if (nx >= 0 && nx < rows && ny >= 0 && ny < cols && grid[nx][ny] != '#') {
+                if (!maze.isWall(nx, ny)) {
                     int tentativeGScore = gScore.getOrDefault(current, Integer.MAX_VALUE) + 1;
 
                     // Si ce chemin vers le voisin est meilleur, mettre à jour les scores et le chemin
                     if (tentativeGScore < gScore.getOrDefault(neighbor, Integer.MAX_VALUE)) {
+                        // Retirer le voisin avant de changer sa priorité, puis le réinsérer : le tas
+                        // ne réordonne pas un élément dont le fScore change en place
+                        openSet.remove(neighbor);
                         cameFrom.put(neighbor, current);
                         gScore.put(neighbor, tentativeGScore);
                         fScore.put(neighbor, tentativeGScore + heuristic(neighbor, end));
-
-                        if (!openSet.contains(neighbor)) {
-                            openSet.add(neighbor);
-                        }
+                        openSet.add(neighbor);
+                        peakFrontier = Math.max(peakFrontier, openSet.size());
                     }
                 }
             }
         }
 
         // Si aucune solution n'est trouvée, retourner la grille originale et le nombre d'étapes effectuées
-        return new SolverResult(grid, steps);
+        return SolverResult.notFound(maze, steps, peakFrontier);
     }
 
     /**
@@ -99,22 +116,21 @@ public class AStarSolver {
      *
      * @param maze     Le labyrinthe en cours de résolution.
      * @param cameFrom La map traçant le chemin.
-     * @return Un tableau de caractères 2D représentant le labyrinthe résolu avec le chemin marqué.
+     * @return Les indices aplatis des cellules du chemin, du départ à l'arrivée inclus.
      */
-    private static char[][] reconstructPath(Maze maze, Map<Point, Point> cameFrom) {
-        char[][] grid = new char[maze.getRows()][];
-        for (int i = 0; i < maze.getRows(); i++) {
-            grid[i] = Arrays.copyOf(maze.getGrid()[i], maze.getCols());
+    private static int[] reconstructPath(Maze maze, Map<Point, Point> cameFrom) {
+        // Compte les cellules du chemin, puis les range du départ vers l'arrivée.
+        int length = 1;
+        for (Point current = maze.getEnd(); !current.equals(maze.getStart()); current = cameFrom.get(current)) {
+            length++;
         }
 
+        int[] path = new int[length];
         Point current = maze.getEnd();
-        while (cameFrom.containsKey(current) && !current.equals(maze.getStart())) {
-            if (!current.equals(maze.getEnd())) {
-                grid[current.x()][current.y()] = '+'; // Marquer le chemin
-            }
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = current.x() * maze.getCols() + current.y();
             current = cameFrom.get(current);
         }
-
-        return grid;
+        return path;
     }
 }
\ No newline at end of file
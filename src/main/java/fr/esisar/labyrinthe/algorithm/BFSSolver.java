@@ -3,28 +3,41 @@ package fr.esisar.labyrinthe.algorithm;
 import fr.esisar.labyrinthe.model.Maze;
 import fr.esisar.labyrinthe.model.Point;
 
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Queue;
 
 /**
  * Cette classe implémente l'algorithme de recherche en largeur (BFS - Breadth-First Search)
  * pour résoudre un labyrinthe.
- * Elle retourne un objet SolverResult contenant la grille résolue et le nombre d'étapes effectuées.
+ * Elle retourne un objet SolverResult contenant le chemin trouvé et le nombre d'étapes effectuées.
  */
-public class BFSSolver {
+public class BFSSolver implements Solver {
     // Définition des directions possibles : haut, bas, gauche, droite.
     private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
 
+    @Override
+    public String getName() {
+        return "BFS";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.OBJECTS);
+    }
+
     /**
      * Résout le labyrinthe en utilisant l'algorithme de recherche en largeur (BFS).
      *
-     * @param maze Le labyrinthe à résoudre.
-     * @return Un objet SolverResult contenant la grille résolue (avec le chemin marqué)
-     *         et le nombre d'étapes effectuées pour trouver la solution.
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un objet SolverResult contenant le chemin trouvé, le nombre d'étapes effectuées
+     *         et la taille maximale de la file.
      */
-    public static SolverResult solve(Maze maze) {
-        char[][] grid = maze.getGrid(); // Récupère la grille du labyrinthe.
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
         Point start = maze.getStart(); // Récupère le point de départ.
         Point end = maze.getEnd(); // Récupère le point d'arrivée.
         int rows = maze.getRows(); // Récupère le nombre de lignes.
@@ -34,6 +47,7 @@ public class BFSSolver {
         boolean[][] visited = new boolean[rows][cols]; // Tableau pour suivre les cellules visitées.
         Point[][] parent = new Point[rows][cols]; // Tableau pour reconstruire le chemin.
         int steps = 0; // Compteur pour le nombre d'étapes.
+        int peakFrontier = 1; // Taille maximale de la file.
 
         // Initialisation de la recherche BFS.
         queue.add(start); // Ajoute le point de départ à la file.
@@ -41,12 +55,15 @@ public class BFSSolver {
 
         // Boucle principale de la recherche BFS.
         while (!queue.isEmpty()) {
+            if (budget.isExhausted(steps)) {
+                return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+            }
             Point current = queue.poll(); // Récupère et retire le premier point de la file.
             steps++; // Incrémente le compteur d'étapes.
 
             // Si le point actuel est le point d'arrivée, on a trouvé une solution.
             if (current.equals(end)) {
-                return new SolverResult(reconstructPath(maze, parent), steps);
+                return SolverResult.found(maze, reconstructPath(maze, parent), steps, peakFrontier);
             }
 
             // Explore les voisins du point actuel.
@@ -57,16 +74,17 @@ public class BFSSolver {
                 // Vérifie si le voisin est dans les limites de la grille,
                 // s'il n'a pas déjà été visité et s'il n'est pas un mur.
                 if (nx >= 0 && nx < rows && ny >= 0 && ny < cols
-                        && !visited[nx][ny] && grid[nx][ny] != '#') {
+                        && !visited[nx][ny] && !maze.isWall(nx, ny)) {
                     visited[nx][ny] = true; // Marque le voisin comme visité.
                     parent[nx][ny] = current; // Enregistre le point actuel comme parent du voisin pour le chemin.
                     queue.add(new Point(nx, ny)); // Ajoute le voisin à la file pour exploration future.
+                    peakFrontier = Math.max(peakFrontier, queue.size());
                 }
             }
         }
 
         // Si la file est vide et qu'on n'a pas atteint la fin, il n'y a pas de solution.
-        return new SolverResult(grid, steps); // Retourne la grille originale et le nombre d'étapes.
+        return SolverResult.notFound(maze, steps, peakFrontier);
     }
 
     /**
@@ -74,25 +92,21 @@ public class BFSSolver {
      *
      * @param maze   Le labyrinthe en cours de résolution.
      * @param parent Le tableau qui permet de retracer le chemin en remontant de chaque cellule à son parent.
-     * @return Un tableau de caractères 2D représentant le labyrinthe résolu avec le chemin marqué par '+'.
+     * @return Les indices aplatis des cellules du chemin, du départ à l'arrivée inclus.
      */
-    private static char[][] reconstructPath(Maze maze, Point[][] parent) {
-        char[][] grid = new char[maze.getRows()][];
-        // Crée une copie de la grille originale pour ne pas la modifier directement.
-        for (int i = 0; i < maze.getRows(); i++) {
-            grid[i] = Arrays.copyOf(maze.getGrid()[i], maze.getCols());
+    private static int[] reconstructPath(Maze maze, Point[][] parent) {
+        // Compte les cellules du chemin, puis les range du départ vers l'arrivée.
+        int length = 1;
+        for (Point current = maze.getEnd(); !current.equals(maze.getStart()); current = parent[current.x()][current.y()]) {
+            length++;
         }
 
-        Point current = maze.getEnd(); // Commence au point d'arrivée.
-        // Remonte le chemin en suivant les parents jusqu'à atteindre le point de départ ou un point sans parent.
-        while (parent[current.x()][current.y()] != null && !current.equals(maze.getStart())) {
-            // Marque le chemin avec '+' sauf pour la case d'arrivée.
-            if (!current.equals(maze.getEnd())) {
-                grid[current.x()][current.y()] = '+';
-            }
-            current = parent[current.x()][current.y()]; // Passe au parent du point actuel.
+        int[] path = new int[length];
+        Point current = maze.getEnd();
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = current.x() * maze.getCols() + current.y();
+            current = parent[current.x()][current.y()];
         }
-
-        return grid; // Retourne la grille avec le chemin marqué.
+        return path;
     }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Parcours en largeur bidirectionnel : deux recherches partent simultanément du départ et de l'arrivée
+ * et progressent niveau par niveau, en développant toujours la frontière la plus petite.
+ * La recherche s'arrête à la fin du niveau au cours duquel les deux recherches se rencontrent ;
+ * le meilleur point de rencontre de ce niveau donne un chemin de longueur minimale.
+ * Sur les longs couloirs, chaque recherche n'explore qu'environ la moitié du rayon, ce qui réduit
+ * fortement le nombre de cellules développées par rapport à {@link BFSSolver}.
+ * Les tableaux des deux recherches proviennent du {@link SolverWorkspace} du thread.
+ */
+public class BidirectionalBFSSolver implements Solver {
+    // Définition des directions possibles : haut, bas, gauche, droite.
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int UNVISITED = -1;
+
+    /**
+     * État d'une des deux recherches (depuis le départ ou depuis l'arrivée).
+     */
+    private static final class Side {
+        final SolverWorkspace workspace;
+        final int layer;      // Couche de marques des cellules atteintes par cette recherche
+        final int[] parent;   // Parent de chaque cellule dans cette recherche
+        final int[] dist;     // Distance à la racine de cette recherche, valable pour les cellules marquées
+        final int[] queue;    // Cellules de la frontière courante puis de la suivante, à la suite
+        int head;             // Début de la frontière courante dans queue
+        int tail;             // Fin des cellules enfilées dans queue
+
+        Side(SolverWorkspace workspace, int layer, int root) {
+            this.workspace = workspace;
+            this.layer = layer;
+            parent = workspace.ints(3 * layer);
+            dist = workspace.ints(3 * layer + 1);
+            queue = workspace.ints(3 * layer + 2);
+            visit(root, root, 0);
+        }
+
+        boolean isVisited(int cell) {
+            return workspace.isMarked(layer, cell);
+        }
+
+        void visit(int cell, int from, int distance) {
+            workspace.mark(layer, cell);
+            parent[cell] = from;
+            dist[cell] = distance;
+            queue[tail++] = cell;
+        }
+
+        int frontierSize() {
+            return tail - head;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "BFS bidirectionnel";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe en utilisant un parcours en largeur bidirectionnel.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un objet SolverResult contenant un plus court chemin, le nombre de cellules développées
+     *         par les deux recherches et la taille maximale cumulée des deux frontières.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+
+        if (start == end) {
+            return SolverResult.found(maze, new int[]{start}, 1, 1);
+        }
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            Side forward = new Side(workspace, 0, start);
+            Side backward = new Side(workspace, 1, end);
+            int steps = 0;
+            int peakFrontier = 2;
+            int bestLength = Integer.MAX_VALUE;
+            int meetForward = UNVISITED;   // Dernière cellule du côté départ sur le meilleur chemin
+            int meetBackward = UNVISITED;  // Première cellule du côté arrivée sur le meilleur chemin
+
+            while (forward.frontierSize() > 0 && backward.frontierSize() > 0) {
+                // Développer le niveau complet de la plus petite frontière
+                boolean expandForward = forward.frontierSize() <= backward.frontierSize();
+                Side side = expandForward ? forward : backward;
+                Side other = expandForward ? backward : forward;
+
+                int levelEnd = side.tail;
+                while (side.head < levelEnd) {
+                    if (budget.isExhausted(steps)) {
+                        return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                    }
+                    int current = side.queue[side.head++];
+                    steps++;
+                    int x = current / cols;
+                    int y = current - x * cols;
+
+                    for (int[] dir : DIRECTIONS) {
+                        int nx = x + dir[0];
+                        int ny = y + dir[1];
+                        if (maze.isWall(nx, ny)) {
+                            continue;
+                        }
+                        int next = nx * cols + ny;
+
+                        if (other.isVisited(next)) {
+                            // Les deux recherches se rencontrent sur l'arête current -> next
+                            int length = side.dist[current] + 1 + other.dist[next];
+                            if (length < bestLength) {
+                                bestLength = length;
+                                meetForward = expandForward ? current : next;
+                                meetBackward = expandForward ? next : current;
+                            }
+                        }
+                        if (!side.isVisited(next)) {
+                            side.visit(next, current, side.dist[current] + 1);
+                        }
+                    }
+                }
+
+                peakFrontier = Math.max(peakFrontier, forward.frontierSize() + backward.frontierSize());
+
+                if (bestLength != Integer.MAX_VALUE) {
+                    return SolverResult.found(maze, reconstructPath(forward, backward, meetForward, meetBackward),
+                            steps, peakFrontier);
+                }
+            }
+
+            // Une des frontières est vide sans rencontre : il n'y a pas de solution.
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Reconstruit le chemin en remontant chaque recherche depuis le point de rencontre.
+     *
+     * @param forward      La recherche partie du départ.
+     * @param backward     La recherche partie de l'arrivée.
+     * @param meetForward  La cellule de rencontre atteinte par la recherche depuis le départ.
+     * @param meetBackward La cellule de rencontre atteinte par la recherche depuis l'arrivée.
+     * @return Les indices aplatis des cellules du chemin, du départ à l'arrivée inclus.
+     */
+    private static int[] reconstructPath(Side forward, Side backward, int meetForward, int meetBackward) {
+        int forwardLength = chainLength(forward, meetForward);
+        int[] path = new int[forwardLength + chainLength(backward, meetBackward)];
+
+        // Côté départ : de la rencontre vers le départ, rangé à l'envers
+        int current = meetForward;
+        for (int i = forwardLength - 1; i >= 0; i--) {
+            path[i] = current;
+            current = forward.parent[current];
+        }
+        // Côté arrivée : de la rencontre vers l'arrivée, dans l'ordre
+        current = meetBackward;
+        for (int i = forwardLength; i < path.length; i++) {
+            path[i] = current;
+            current = backward.parent[current];
+        }
+        return path;
+    }
+
+    /**
+     * Compte les cellules de {@code from} jusqu'à la racine de la recherche, racine incluse.
+     */
+    private static int chainLength(Side side, int from) {
+        int length = 1;
+        for (int current = from; side.parent[current] != current; current = side.parent[current]) {
+            length++;
+        }
+        return length;
+    }
+}
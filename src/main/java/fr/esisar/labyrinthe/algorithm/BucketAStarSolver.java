@@ -0,0 +1,113 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Variante de l'algorithme A* pour les grilles à coût unitaire.
+ * Les scores sont stockés dans des tableaux primitifs indexés par cellule aplatie
+ * ({@code ligne * colonnes + colonne}) et l'ensemble ouvert est une file à seaux ({@link BucketQueue}) :
+ * chaque insertion et extraction se fait en temps constant amorti, sans le parcours linéaire
+ * de {@code PriorityQueue.contains} utilisé par {@link AStarSolver}.
+ * Une amélioration du coût d'une cellule déjà ouverte la réinsère simplement dans le bon seau ;
+ * l'ancienne entrée est ignorée lorsqu'elle ressort de la file.
+ * Les tableaux et la file proviennent du {@link SolverWorkspace} du thread : une cellule sans
+ * marque « score connu » a un score infini, ce qui évite de remplir {@code gScore} à chaque résolution.
+ */
+public class BucketAStarSolver implements Solver {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Directions possibles : haut, bas, gauche, droite
+    private static final int KNOWN = 0;      // Couche des cellules dont gScore est renseigné
+    private static final int CLOSED = 1;     // Couche des cellules déjà développées
+    private static final int G_SCORE = 0;    // Tableaux de l'espace de travail
+    private static final int CAME_FROM = 1;
+
+    @Override
+    public String getName() {
+        return "A* (seaux)";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe en utilisant A* avec une file à seaux.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un SolverResult contenant le chemin trouvé, le nombre de cellules développées et la taille
+     *         maximale de la file (entrées périmées comprises).
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+        int endX = maze.getEnd().x();
+        int endY = maze.getEnd().y();
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            int[] gScore = workspace.ints(G_SCORE);       // Coût du départ à chaque cellule connue
+            int[] cameFrom = workspace.ints(CAME_FROM);   // Parent de chaque cellule sur le meilleur chemin connu
+            BucketQueue openSet = workspace.bucketQueue();
+            int steps = 0;
+            int peakFrontier = 1;
+
+            gScore[start] = 0;
+            cameFrom[start] = start;
+            workspace.mark(KNOWN, start);
+            openSet.push(start, heuristic(maze.getStart().x(), maze.getStart().y(), endX, endY));
+
+            while (!openSet.isEmpty()) {
+                int current = openSet.pop();
+                if (workspace.isMarked(CLOSED, current)) {
+                    continue; // Entrée périmée : la cellule a déjà été développée avec un meilleur score
+                }
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                workspace.mark(CLOSED, current);
+                steps++;
+
+                if (current == end) {
+                    return SolverResult.found(maze, SolverResult.pathFromParents(cameFrom, start, end), steps, peakFrontier);
+                }
+
+                int x = current / cols;
+                int y = current - x * cols;
+                int tentativeGScore = gScore[current] + 1;
+
+                // Explorer les voisins
+                for (int[] dir : DIRECTIONS) {
+                    int nx = x + dir[0];
+                    int ny = y + dir[1];
+                    if (maze.isWall(nx, ny)) {
+                        continue;
+                    }
+                    int neighbor = nx * cols + ny;
+                    if (!workspace.isMarked(KNOWN, neighbor) || tentativeGScore < gScore[neighbor]) {
+                        workspace.mark(KNOWN, neighbor);
+                        gScore[neighbor] = tentativeGScore;
+                        cameFrom[neighbor] = current;
+                        openSet.push(neighbor, tentativeGScore + heuristic(nx, ny, endX, endY));
+                        peakFrontier = Math.max(peakFrontier, openSet.size());
+                    }
+                }
+            }
+
+            // Si aucune solution n'est trouvée, retourner le nombre d'étapes effectuées
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Fonction heuristique (distance de Manhattan).
+     */
+    private static int heuristic(int x, int y, int endX, int endY) {
+        return Math.abs(x - endX) + Math.abs(y - endY);
+    }
+}
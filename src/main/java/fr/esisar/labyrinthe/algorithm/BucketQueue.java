@@ -0,0 +1,141 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * File de priorité à seaux (file de Dial) pour des priorités entières monotones.
+ * Les éléments sont des entiers (indices de cellules ou de nœuds) rangés dans un seau par priorité.
+ * Les seaux forment une fenêtre circulaire qui s'agrandit si l'écart entre la plus petite et la
+ * plus grande priorité présentes dépasse sa taille : la mémoire dépend de cet écart, pas de la
+ * valeur absolue des priorités.
+ * <p>
+ * Contrainte : une priorité insérée ne peut jamais être inférieure à la dernière priorité extraite,
+ * ce qui est le cas pour A* avec une heuristique cohérente et pour Dijkstra à poids positifs.
+ * À l'intérieur d'un seau, l'ordre est LIFO, ce qui favorise les nœuds les plus récents (les plus
+ * profonds) en cas d'égalité.
+ * <p>
+ * La suppression d'un élément n'est pas supportée : une diminution de clé se fait en réinsérant
+ * l'élément avec sa nouvelle priorité, l'appelant ignorant ensuite les entrées périmées.
+ */
+class BucketQueue {
+    private static final int INITIAL_BUCKETS = 16;
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+
+    private int[][] buckets = new int[INITIAL_BUCKETS][];
+    private int[] sizes = new int[INITIAL_BUCKETS];
+    private int cursor;   // Borne inférieure des priorités présentes
+    private int top;      // Borne supérieure des priorités présentes
+    private int floor = Integer.MIN_VALUE; // Dernière priorité extraite
+    private int count;    // Nombre total d'éléments dans la file
+
+    /**
+     * Ajoute un élément avec la priorité donnée.
+     *
+     * @param item     L'élément à ajouter.
+     * @param priority Sa priorité, supérieure ou égale à la dernière priorité extraite.
+     * @throws IllegalArgumentException si la priorité viole la contrainte de monotonie.
+     */
+    void push(int item, int priority) {
+        if (priority < floor) {
+            throw new IllegalArgumentException(
+                    "Priorité non monotone : " + priority + " < " + floor);
+        }
+        if (count == 0) {
+            cursor = priority;
+            top = priority;
+        } else {
+            int low = Math.min(cursor, priority);
+            int high = Math.max(top, priority);
+            if (high - low >= buckets.length) {
+                grow(high - low + 1);
+            }
+            cursor = low;
+            top = high;
+        }
+
+        int slot = priority & (buckets.length - 1);
+        int[] bucket = buckets[slot];
+        if (bucket == null) {
+            bucket = new int[INITIAL_BUCKET_CAPACITY];
+            buckets[slot] = bucket;
+        } else if (sizes[slot] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            buckets[slot] = bucket;
+        }
+        bucket[sizes[slot]++] = item;
+        count++;
+    }
+
+    /**
+     * Retire et retourne un élément de plus petite priorité.
+     *
+     * @return L'élément retiré.
+     * @throws NoSuchElementException si la file est vide.
+     */
+    int pop() {
+        if (count == 0) {
+            throw new NoSuchElementException("File vide");
+        }
+        int mask = buckets.length - 1;
+        while (sizes[cursor & mask] == 0) {
+            cursor++;
+        }
+        count--;
+        floor = cursor;
+        int slot = cursor & mask;
+        return buckets[slot][--sizes[slot]];
+    }
+
+    /**
+     * Retourne la priorité du dernier élément extrait.
+     *
+     * @return La priorité courante de la file.
+     */
+    int currentPriority() {
+        return floor;
+    }
+
+    /**
+     * @return {@code true} si la file ne contient aucun élément.
+     */
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return Le nombre d'éléments dans la file (entrées périmées comprises).
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Vide la file en conservant les seaux déjà alloués.
+     */
+    void clear() {
+        Arrays.fill(sizes, 0);
+        count = 0;
+        floor = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Agrandit la fenêtre circulaire pour couvrir au moins {@code span} priorités consécutives.
+     * Les seaux des priorités présentes, comprises entre {@code cursor} et {@code top}, sont recopiés.
+     */
+    private void grow(int span) {
+        int length = buckets.length;
+        while (length < span) {
+            length *= 2;
+        }
+        int[][] newBuckets = new int[length][];
+        int[] newSizes = new int[length];
+        int oldMask = buckets.length - 1;
+        for (int p = cursor; p <= top; p++) {
+            newBuckets[p & (length - 1)] = buckets[p & oldMask];
+            newSizes[p & (length - 1)] = sizes[p & oldMask];
+        }
+        buckets = newBuckets;
+        sizes = newSizes;
+    }
+}
@@ -0,0 +1,31 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import java.util.function.Supplier;
+
+/**
+ * Levée par {@link SolverBudget#checkBuild()} pour abandonner la construction d'une structure préalable
+ * (hiérarchie, index, graphe) dont le budget est épuisé. Elle ne sort pas du paquetage : les méthodes
+ * {@code of(..., SolverBudget)} la transforment en absence de résultat, et les solveurs en résultat partiel.
+ */
+final class BuildInterruptedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    BuildInterruptedException() {
+        super("Construction interrompue par le budget", null, false, false); // Sans pile : levée en fonctionnement normal
+    }
+
+    /**
+     * Construit une structure, ou retourne null si la construction est interrompue ; c'est la
+     * convention de {@link fr.esisar.labyrinthe.model.Maze#getCached}.
+     *
+     * @param build La construction.
+     * @return La structure, ou null.
+     */
+    static <T> T orNull(Supplier<? extends T> build) {
+        try {
+            return build.get();
+        } catch (BuildInterruptedException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package fr.esisar.labyrinthe.algorithm;
+
+/**
+ * Jeton d'annulation partagé entre un appelant et les résolutions qu'il a lancées.
+ * <p>
+ * L'annulation est coopérative : {@link #cancel()} ne fait que lever un indicateur, que les solveurs
+ * consultent par {@link SolverBudget} dans leur boucle principale. Un jeton annulé le reste ; il
+ * peut être partagé par plusieurs résolutions et utilisé depuis plusieurs threads.
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Demande l'arrêt des résolutions qui utilisent ce jeton.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return {@code true} si l'arrêt a été demandé.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,74 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.BitGrid;
+import fr.esisar.labyrinthe.model.Maze;
+
+import java.util.Arrays;
+
+/**
+ * Opérations sur des ensembles de cellules stockés un bit par cellule dans un {@code long[]},
+ * avec la même disposition que {@link BitGrid} (bit {@code ligne * colonnes + colonne}).
+ */
+final class CellBits {
+    private CellBits() {
+    }
+
+    /**
+     * Retourne l'ensemble des cellules libres du labyrinthe.
+     */
+    static long[] openCells(Maze maze) {
+        BitGrid walls = maze.toBitGrid();
+        int words = walls.getWordCount();
+        long[] open = new long[words];
+        for (int w = 0; w < words; w++) {
+            open[w] = ~walls.getWord(w);
+        }
+        open[words - 1] &= lastWordMask(maze.getRows() * maze.getCols());
+        return open;
+    }
+
+    /**
+     * Retourne le masque des cellules qui ont un voisin à gauche (toutes sauf la première colonne)
+     * ou, si {@code left} vaut {@code false}, un voisin à droite (toutes sauf la dernière colonne).
+     */
+    static long[] columnMask(int rows, int cols, boolean left) {
+        long[] mask = new long[(int) (((long) rows * cols + 63) >>> 6)];
+        Arrays.fill(mask, -1L);
+        for (int x = 0; x < rows; x++) {
+            int edge = left ? x * cols : x * cols + cols - 1;
+            mask[edge >>> 6] &= ~(1L << edge);
+        }
+        return mask;
+    }
+
+    /**
+     * Retourne le mot de 64 bits dont le bit {@code b} vaut le bit {@code 64 * w + b + offset} de
+     * l'ensemble, 0 en dehors de celui-ci.
+     */
+    static long shiftedWord(long[] bits, int w, int offset) {
+        int first = (w << 6) + offset;
+        int word = Math.floorDiv(first, 64);
+        int shift = Math.floorMod(first, 64);
+        long low = word >= 0 && word < bits.length ? bits[word] : 0L;
+        if (shift == 0) {
+            return low;
+        }
+        long high = word + 1 >= 0 && word + 1 < bits.length ? bits[word + 1] : 0L;
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    /**
+     * Indique si la cellule appartient à l'ensemble, {@code false} en dehors de celui-ci.
+     */
+    static boolean isSet(long[] bits, int cell) {
+        return cell >= 0 && (cell >>> 6) < bits.length && (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Masque des bits utiles du dernier mot, les bits au-delà de la dernière cellule étant à 0.
+     */
+    static long lastWordMask(int cells) {
+        int used = cells & 63;
+        return used == 0 ? -1L : (1L << used) - 1;
+    }
+}
@@ -0,0 +1,448 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Graphe abstrait de la recherche hiérarchique ({@link HPAStarSolver}).
+ * <p>
+ * La grille est découpée en blocs carrés de {@code clusterSize} cellules de côté. Le long de chaque
+ * frontière entre deux blocs voisins, chaque suite maximale de cellules libres des deux côtés forme une
+ * entrée : elle donne une transition en son milieu, ou deux à ses extrémités si elle est longue. Les
+ * cellules de part et d'autre d'une transition sont les nœuds du graphe, reliés par une arête de poids 1.
+ * Dans chaque bloc, les nœuds sont reliés deux à deux par la longueur du plus court chemin qui reste
+ * dans le bloc, calculée par un parcours en largeur limité au bloc ; ces calculs sont indépendants et
+ * faits en parallèle, un bloc par tâche.
+ * <p>
+ * Le graphe est stocké au format CSR dans des tableaux primitifs, les nœuds étant regroupés par bloc
+ * et triés par cellule à l'intérieur d'un bloc. Le temps de construction et la mémoire occupée sont
+ * exposés pour aider au choix de la taille des blocs.
+ */
+public class ClusterGraph {
+    /**
+     * Taille des blocs par défaut.
+     */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    /**
+     * Longueur à partir de laquelle une entrée donne deux transitions au lieu d'une.
+     */
+    private static final int LONG_ENTRANCE = 6;
+
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int VISITED = 0;   // Couche de marques des parcours limités à un bloc
+    private static final int QUEUE = 0;     // Tableaux de l'espace de travail, indexés localement au bloc
+    private static final int DISTANCE = 1;
+    private static final int PARENT = 2;
+
+    /**
+     * Graphes déjà construits pour un labyrinthe, par taille de bloc.
+     */
+    private static final class Cache {
+        private final ConcurrentHashMap<Integer, ClusterGraph> bySize = new ConcurrentHashMap<>();
+    }
+
+    private final Maze maze;
+    private final int rows;
+    private final int cols;
+    private final int clusterSize;
+    private final int clusterCols;     // Nombre de blocs par ligne de blocs
+    private final int[] clusterStart;  // Premier nœud de chaque bloc, plus une sentinelle
+    private final int[] nodeCells;     // Cellule aplatie de chaque nœud
+    private final int[] offsets;       // Début des arêtes de chaque nœud, plus une sentinelle
+    private final int[] targets;
+    private final int[] weights;
+    private final long buildNanos;
+
+    /**
+     * Construit le graphe abstrait du labyrinthe.
+     * Préférer {@link #of(Maze, int)}, qui réutilise le graphe déjà construit.
+     *
+     * @param maze        Le labyrinthe.
+     * @param clusterSize Le côté des blocs, en cellules.
+     * @throws IllegalArgumentException si la taille des blocs est inférieure à 2.
+     */
+    public ClusterGraph(Maze maze, int clusterSize) {
+        this(maze, clusterSize, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Construit le graphe abstrait du labyrinthe dans les limites de l'échéance et du jeton du budget,
+     * vérifiés avant le calcul des distances de chaque bloc.
+     *
+     * @throws BuildInterruptedException si le budget est épuisé avant la fin de la construction.
+     */
+    ClusterGraph(Maze maze, int clusterSize, SolverBudget budget) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Taille de bloc invalide : " + clusterSize);
+        }
+        long startTime = System.nanoTime();
+        this.maze = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
+        this.clusterSize = clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+        int clusterCount = clusterCols * ((rows + clusterSize - 1) / clusterSize);
+
+        // 1. Transitions le long des frontières horizontales puis verticales, par paires de cellules
+        IntStack pairs = new IntStack(1024);
+        for (int x = clusterSize; x < rows; x += clusterSize) {
+            for (int y = 0; y < cols; y += clusterSize) {
+                addTransitions(pairs, (x - 1) * cols + y, x * cols + y, 1, Math.min(clusterSize, cols - y));
+            }
+        }
+        for (int y = clusterSize; y < cols; y += clusterSize) {
+            for (int x = 0; x < rows; x += clusterSize) {
+                addTransitions(pairs, x * cols + y - 1, x * cols + y, cols, Math.min(clusterSize, rows - x));
+            }
+        }
+        int[] pairCells = pairs.toArray();
+
+        // 2. Nœuds regroupés par bloc (tri par dénombrement), triés et sans doublon dans chaque bloc
+        int[] start = new int[clusterCount + 1];
+        for (int cell : pairCells) {
+            start[clusterOf(cell) + 1]++;
+        }
+        for (int c = 0; c < clusterCount; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] grouped = new int[pairCells.length];
+        int[] cursor = Arrays.copyOf(start, clusterCount);
+        for (int cell : pairCells) {
+            grouped[cursor[clusterOf(cell)]++] = cell;
+        }
+        clusterStart = new int[clusterCount + 1];
+        int nodeCount = 0;
+        for (int c = 0; c < clusterCount; c++) {
+            Arrays.sort(grouped, start[c], start[c + 1]);
+            clusterStart[c] = nodeCount;
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                if (i == start[c] || grouped[i] != grouped[i - 1]) {
+                    grouped[nodeCount++] = grouped[i];
+                }
+            }
+        }
+        clusterStart[clusterCount] = nodeCount;
+        nodeCells = Arrays.copyOf(grouped, nodeCount);
+
+        // 3. Distances entre les nœuds de chaque bloc, un bloc par tâche
+        int[][] intra = new int[clusterCount][];
+        IntStream clusters = IntStream.range(0, clusterCount);
+        if (clusterCount > 1) {
+            clusters = clusters.parallel();
+        }
+        clusters.forEach(c -> {
+            budget.checkBuild();
+            intra[c] = intraDistances(c);
+        });
+
+        // 4. Assemblage CSR : arêtes internes aux blocs puis transitions
+        int[] degree = new int[nodeCount + 1];
+        for (int c = 0; c < clusterCount; c++) {
+            int m = clusterStart[c + 1] - clusterStart[c];
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < m; j++) {
+                    if (i != j && intra[c][i * m + j] >= 0) {
+                        degree[clusterStart[c] + i]++;
+                    }
+                }
+            }
+        }
+        for (int cell : pairCells) {
+            degree[nodeOf(cell)]++;
+        }
+        offsets = new int[nodeCount + 1];
+        for (int n = 0; n < nodeCount; n++) {
+            offsets[n + 1] = offsets[n] + degree[n];
+        }
+        targets = new int[offsets[nodeCount]];
+        weights = new int[offsets[nodeCount]];
+        int[] fill = Arrays.copyOf(offsets, nodeCount);
+        for (int c = 0; c < clusterCount; c++) {
+            int first = clusterStart[c];
+            int m = clusterStart[c + 1] - first;
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < m; j++) {
+                    int distance = intra[c][i * m + j];
+                    if (i != j && distance >= 0) {
+                        targets[fill[first + i]] = first + j;
+                        weights[fill[first + i]++] = distance;
+                    }
+                }
+            }
+        }
+        for (int p = 0; p < pairCells.length; p += 2) {
+            int a = nodeOf(pairCells[p]);
+            int b = nodeOf(pairCells[p + 1]);
+            targets[fill[a]] = b;
+            weights[fill[a]++] = 1;
+            targets[fill[b]] = a;
+            weights[fill[b]++] = 1;
+        }
+        buildNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Retourne le graphe abstrait du labyrinthe pour la taille de bloc donnée, construit au premier
+     * appel puis conservé par le labyrinthe jusqu'à sa prochaine modification.
+     *
+     * @param maze        Le labyrinthe.
+     * @param clusterSize Le côté des blocs, en cellules.
+     * @return Le graphe abstrait.
+     */
+    public static ClusterGraph of(Maze maze, int clusterSize) {
+        return maze.getCached(Cache.class, m -> new Cache()).bySize
+                .computeIfAbsent(clusterSize, size -> new ClusterGraph(maze, size));
+    }
+
+    /**
+     * Comme {@link #of(Maze, int)}, mais une construction nécessaire est abandonnée dès que l'échéance
+     * ou le jeton du budget l'exige ; le graphe inachevé n'est pas conservé.
+     *
+     * @param maze        Le labyrinthe.
+     * @param clusterSize Le côté des blocs, en cellules.
+     * @param budget      Les limites de la construction.
+     * @return Le graphe abstrait, ou un Optional vide si la construction a été interrompue.
+     */
+    public static Optional<ClusterGraph> of(Maze maze, int clusterSize, SolverBudget budget) {
+        // Une valeur null n'est pas conservée par computeIfAbsent
+        return Optional.ofNullable(maze.getCached(Cache.class, m -> new Cache()).bySize
+                .computeIfAbsent(clusterSize, size -> BuildInterruptedException.orNull(() -> new ClusterGraph(maze, size, budget))));
+    }
+
+    /**
+     * Ajoute les transitions d'un segment de frontière : {@code length} paires de cellules
+     * ({@code a + i * step}, {@code b + i * step}) situées de part et d'autre.
+     */
+    private void addTransitions(IntStack pairs, int a, int b, int step, int length) {
+        int i = 0;
+        while (i < length) {
+            if (!isOpen(a + i * step) || !isOpen(b + i * step)) {
+                i++;
+                continue;
+            }
+            int first = i;
+            while (i < length && isOpen(a + i * step) && isOpen(b + i * step)) {
+                i++;
+            }
+            int last = i - 1;
+            if (last - first + 1 >= LONG_ENTRANCE) {
+                pairs.push(a + first * step);
+                pairs.push(b + first * step);
+                pairs.push(a + last * step);
+                pairs.push(b + last * step);
+            } else {
+                int middle = (first + last) / 2;
+                pairs.push(a + middle * step);
+                pairs.push(b + middle * step);
+            }
+        }
+    }
+
+    private boolean isOpen(int cell) {
+        return !maze.isWall(cell / cols, cell % cols);
+    }
+
+    /**
+     * Calcule la matrice des distances entre les nœuds d'un bloc, -1 pour deux nœuds non reliés dans le bloc.
+     */
+    private int[] intraDistances(int cluster) {
+        int first = clusterStart[cluster];
+        int m = clusterStart[cluster + 1] - first;
+        int[] matrix = new int[m * m];
+        for (int i = 0; i < m; i++) {
+            int[] distances = distancesInCluster(nodeCells[first + i], -1);
+            System.arraycopy(distances, 0, matrix, i * m, m);
+        }
+        return matrix;
+    }
+
+    /**
+     * Calcule, par un parcours en largeur limité au bloc de {@code cell}, la distance de {@code cell} à
+     * chaque nœud du bloc, puis à {@code extra}.
+     *
+     * @param cell  La cellule de départ.
+     * @param extra Une cellule supplémentaire du même bloc, ou -1.
+     * @return Les distances aux nœuds du bloc, dans leur ordre, suivies de la distance à {@code extra} ;
+     *         -1 pour une cellule non atteinte.
+     */
+    int[] distancesInCluster(int cell, int extra) {
+        int cluster = clusterOf(cell);
+        int first = clusterStart[cluster];
+        int m = clusterStart[cluster + 1] - first;
+        int[] result = new int[m + 1];
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(clusterSize * clusterSize)) {
+            searchCluster(workspace, cluster, cell);
+            int[] distance = workspace.ints(DISTANCE);
+            for (int i = 0; i <= m; i++) {
+                int target = i < m ? nodeCells[first + i] : extra;
+                int local = target < 0 ? -1 : localIndex(cluster, target);
+                result[i] = local >= 0 && workspace.isMarked(VISITED, local) ? distance[local] : -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Écrit le plus court chemin interne au bloc de {@code from} jusqu'à {@code to}, {@code from} exclu
+     * et {@code to} inclus, à partir de {@code path[at]}.
+     *
+     * @return Le nombre de cellules écrites.
+     */
+    int refine(int from, int to, int[] path, int at) {
+        int cluster = clusterOf(from);
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(clusterSize * clusterSize)) {
+            // Parcours depuis l'arrivée du segment : les parents mènent de from vers to
+            searchCluster(workspace, cluster, to);
+            int[] parent = workspace.ints(PARENT);
+            int x0 = clusterRow(cluster);
+            int y0 = clusterCol(cluster);
+            int width = Math.min(clusterSize, cols - y0);
+            int written = 0;
+            for (int local = localIndex(cluster, from); local != localIndex(cluster, to); ) {
+                local = parent[local];
+                path[at + written++] = (x0 + local / width) * cols + y0 + local % width;
+            }
+            return written;
+        }
+    }
+
+    /**
+     * Parcours en largeur limité à un bloc, en indices locaux
+     * ({@code (ligne - ligne du bloc) * largeur + colonne - colonne du bloc}).
+     */
+    private void searchCluster(SolverWorkspace workspace, int cluster, int from) {
+        int x0 = clusterRow(cluster);
+        int y0 = clusterCol(cluster);
+        int height = Math.min(clusterSize, rows - x0);
+        int width = Math.min(clusterSize, cols - y0);
+        int[] queue = workspace.ints(QUEUE);
+        int[] distance = workspace.ints(DISTANCE);
+        int[] parent = workspace.ints(PARENT);
+
+        int root = localIndex(cluster, from);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        distance[root] = 0;
+        parent[root] = root;
+        workspace.mark(VISITED, root);
+        while (head < tail) {
+            int current = queue[head++];
+            int lx = current / width;
+            int ly = current - lx * width;
+            for (int[] dir : DIRECTIONS) {
+                int nx = lx + dir[0];
+                int ny = ly + dir[1];
+                if (nx < 0 || nx >= height || ny < 0 || ny >= width || maze.isWall(x0 + nx, y0 + ny)) {
+                    continue;
+                }
+                int next = nx * width + ny;
+                if (!workspace.isMarked(VISITED, next)) {
+                    workspace.mark(VISITED, next);
+                    distance[next] = distance[current] + 1;
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    private int clusterRow(int cluster) {
+        return cluster / clusterCols * clusterSize;
+    }
+
+    private int clusterCol(int cluster) {
+        return cluster % clusterCols * clusterSize;
+    }
+
+    private int localIndex(int cluster, int cell) {
+        int y0 = clusterCol(cluster);
+        return (cell / cols - clusterRow(cluster)) * Math.min(clusterSize, cols - y0) + cell % cols - y0;
+    }
+
+    /**
+     * Retourne le bloc contenant une cellule.
+     */
+    int clusterOf(int cell) {
+        return cell / cols / clusterSize * clusterCols + cell % cols / clusterSize;
+    }
+
+    /**
+     * Retourne le nœud d'une cellule, ou une valeur négative si elle n'en est pas un.
+     */
+    int nodeOf(int cell) {
+        int cluster = clusterOf(cell);
+        return Arrays.binarySearch(nodeCells, clusterStart[cluster], clusterStart[cluster + 1], cell);
+    }
+
+    int firstNode(int cluster) {
+        return clusterStart[cluster];
+    }
+
+    int nodeCell(int node) {
+        return nodeCells[node];
+    }
+
+    int edgesFrom(int node) {
+        return offsets[node];
+    }
+
+    int edgesEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    int target(int edge) {
+        return targets[edge];
+    }
+
+    int weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * @return Le côté des blocs, en cellules.
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /**
+     * @return Le nombre de blocs.
+     */
+    public int getClusterCount() {
+        return clusterStart.length - 1;
+    }
+
+    /**
+     * @return Le nombre de nœuds du graphe abstrait.
+     */
+    public int getNodeCount() {
+        return nodeCells.length;
+    }
+
+    /**
+     * @return Le nombre d'arêtes du graphe abstrait, chaque liaison comptant une fois dans chaque sens.
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @return Le temps de construction du graphe, en nanosecondes.
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @return Une estimation de la mémoire occupée par le graphe, en octets.
+     */
+    public long memoryBytes() {
+        return 4L * (clusterStart.length + nodeCells.length + offsets.length + targets.length + weights.length);
+    }
+}
@@ -0,0 +1,195 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Composantes connexes des cellules libres d'un labyrinthe.
+ * <p>
+ * Chaque cellule libre reçoit le numéro de sa composante ; deux cellules sont reliées si et seulement
+ * si elles ont le même numéro, ce qui se vérifie en O(1).
+ * <p>
+ * Le calcul est une union-find sur les indices aplatis, où la racine d'un ensemble est toujours sa
+ * plus petite cellule. Le labyrinthe est découpé en bandes de lignes traitées en parallèle (une bande
+ * ne touche que ses propres cellules), puis les bandes sont recousues le long de leurs frontières.
+ * Comme le parent d'une cellule précède toujours la cellule, une seule passe croissante suffit
+ * ensuite à remplacer les parents par des numéros de composante consécutifs, dans le même tableau.
+ * <p>
+ * {@link #of(Maze)} met les composantes en cache dans le labyrinthe. Les solveurs consultent ce cache
+ * par {@link #isKnownUnreachable(Maze)} et concluent immédiatement à l'absence de chemin lorsque le
+ * départ et l'arrivée sont dans deux composantes différentes.
+ */
+public class ConnectedComponents {
+    /**
+     * Numéro de composante d'un mur.
+     */
+    public static final int WALL = -1;
+
+    /**
+     * Nombre minimal de cellules pour découper le labyrinthe en bandes parallèles.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int cols;
+    private final int[] labels;   // Numéro de composante de chaque cellule, WALL pour un mur
+    private final int[] sizes;    // Nombre de cellules de chaque composante
+
+    /**
+     * Calcule les composantes connexes du labyrinthe sur le pool fork-join commun.
+     * Préférer {@link #of(Maze)}, qui réutilise le résultat déjà calculé.
+     *
+     * @param maze Le labyrinthe.
+     */
+    public ConnectedComponents(Maze maze) {
+        int rows = maze.getRows();
+        cols = maze.getCols();
+        int[] parent = new int[rows * cols];
+
+        // 1. Union-find par bandes de lignes, indépendantes les unes des autres
+        int bands = rows * cols < PARALLEL_THRESHOLD ? 1
+                : Math.min(rows, 4 * ForkJoinPool.getCommonPoolParallelism());
+        int bandRows = (rows + bands - 1) / bands;
+        IntStream bandStream = IntStream.range(0, bands);
+        if (bands > 1) {
+            bandStream = bandStream.parallel();
+        }
+        bandStream.forEach(band -> {
+            int from = band * bandRows;
+            int to = Math.min(rows, from + bandRows);
+            for (int x = from; x < to; x++) {
+                for (int y = 0; y < cols; y++) {
+                    int cell = x * cols + y;
+                    if (maze.isWall(x, y)) {
+                        parent[cell] = WALL;
+                        continue;
+                    }
+                    parent[cell] = cell;
+                    if (y > 0 && !maze.isWall(x, y - 1)) {
+                        union(parent, cell, cell - 1);
+                    }
+                    if (x > from && !maze.isWall(x - 1, y)) {
+                        union(parent, cell, cell - cols);
+                    }
+                }
+            }
+        });
+
+        // 2. Couture des bandes : première ligne de chaque bande avec la dernière de la précédente
+        for (int x = bandRows; x < rows; x += bandRows) {
+            for (int y = 0; y < cols; y++) {
+                if (!maze.isWall(x, y) && !maze.isWall(x - 1, y)) {
+                    union(parent, x * cols + y, (x - 1) * cols + y);
+                }
+            }
+        }
+
+        // 3. Numérotation : le parent d'une cellule la précède, il est donc déjà numéroté
+        int count = 0;
+        for (int cell = 0; cell < parent.length; cell++) {
+            int p = parent[cell];
+            if (p == cell) {
+                parent[cell] = count++;
+            } else if (p != WALL) {
+                parent[cell] = parent[p];
+            }
+        }
+        labels = parent;
+        sizes = new int[count];
+        for (int label : labels) {
+            if (label != WALL) {
+                sizes[label]++;
+            }
+        }
+    }
+
+    /**
+     * Retourne les composantes connexes du labyrinthe, calculées au premier appel puis conservées par
+     * le labyrinthe jusqu'à sa prochaine modification.
+     *
+     * @param maze Le labyrinthe.
+     * @return Les composantes connexes.
+     */
+    public static ConnectedComponents of(Maze maze) {
+        return maze.getCached(ConnectedComponents.class, ConnectedComponents::new);
+    }
+
+    /**
+     * Indique, sans rien calculer, si les composantes du labyrinthe sont déjà en cache et montrent que
+     * l'arrivée est inaccessible depuis le départ.
+     *
+     * @param maze Le labyrinthe.
+     * @return {@code true} si l'absence de chemin est déjà établie.
+     */
+    public static boolean isKnownUnreachable(Maze maze) {
+        return maze.getCachedIfPresent(ConnectedComponents.class)
+                .map(components -> !components.connected(maze.getStart(), maze.getEnd()))
+                .orElse(false);
+    }
+
+    /**
+     * Réunit les ensembles de deux cellules, la plus petite racine devenant la racine commune.
+     */
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA < rootB) {
+            parent[rootB] = rootA;
+        } else if (rootB < rootA) {
+            parent[rootA] = rootB;
+        }
+    }
+
+    /**
+     * Cherche la racine de l'ensemble d'une cellule, avec compression de chemin par division.
+     */
+    private static int find(int[] parent, int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]];
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * Retourne le numéro de composante d'une cellule.
+     *
+     * @param x La ligne.
+     * @param y La colonne.
+     * @return Le numéro de composante, ou {@link #WALL} pour un mur.
+     */
+    public int getComponent(int x, int y) {
+        return labels[x * cols + y];
+    }
+
+    /**
+     * Indique si deux cellules sont reliées par un chemin, en O(1).
+     *
+     * @param a La première cellule.
+     * @param b La seconde cellule.
+     * @return {@code true} si les deux cellules sont libres et dans la même composante.
+     */
+    public boolean connected(Point a, Point b) {
+        int component = getComponent(a.x(), a.y());
+        return component != WALL && component == getComponent(b.x(), b.y());
+    }
+
+    /**
+     * @return Le nombre de composantes connexes.
+     */
+    public int getComponentCount() {
+        return sizes.length;
+    }
+
+    /**
+     * Retourne le nombre de cellules d'une composante.
+     *
+     * @param component Le numéro de composante.
+     * @return Le nombre de cellules libres de la composante.
+     */
+    public int getComponentSize(int component) {
+        return sizes[component];
+    }
+}
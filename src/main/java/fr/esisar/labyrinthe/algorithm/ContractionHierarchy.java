@@ -0,0 +1,950 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.BitGrid;
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Hiérarchie de contraction d'un labyrinthe, pour un grand nombre de requêtes point à point sur un
+ * labyrinthe qui ne change pas.
+ * <p>
+ * Construction (hors ligne) : les cellules libres sont contractées une à une, de la moins importante
+ * à la plus importante. Contracter une cellule la retire du graphe en ajoutant un raccourci entre deux
+ * de ses voisins chaque fois qu'aucun chemin témoin ne les relie aussi court sans elle. L'ordre est
+ * choisi paresseusement selon la différence d'arêtes (raccourcis ajoutés moins arêtes retirées) plus
+ * le nombre de voisins déjà contractés ; la recherche de témoin est bornée, ce qui peut ajouter des
+ * raccourcis inutiles mais jamais fausser une distance. Seules les arêtes montantes (vers une cellule
+ * de rang supérieur) sont conservées, au format CSR.
+ * <p>
+ * Requête : une recherche montante depuis le départ, puis une recherche montante depuis l'arrivée,
+ * arrêtée dès que sa distance dépasse le meilleur point de rencontre ; les raccourcis du chemin sont
+ * ensuite dépliés en cellules. Les deux recherches ne visitent qu'une petite fraction des cellules.
+ * <p>
+ * La hiérarchie s'enregistre à côté du fichier du labyrinthe ({@link #sidecarPath(Path)}), avec une
+ * empreinte des murs qui permet de vérifier au chargement qu'elle correspond bien au labyrinthe, et
+ * une somme de contrôle du corps qui écarte un fichier corrompu. Les tables chargées sont en outre
+ * vérifiées (bornes croissantes, cellules dans le labyrinthe) avant d'être acceptées.
+ * Elle ne dépend pas du départ ni de l'arrivée du labyrinthe.
+ * <p>
+ * Disposition du fichier (entiers en petit-boutiste) :
+ * <pre>
+ * en-tête (40 octets)
+ *   magic       4 octets  "LACH"
+ *   version     u16       {@link #VERSION}
+ *   flags       u16       0
+ *   rows, cols  int, int
+ *   walls       int       CRC32 des mots de la {@link BitGrid} du labyrinthe
+ *   edges       int       nombre d'arêtes montantes
+ *   shortcuts   int       nombre de raccourcis parmi elles
+ *   buildNanos  long      temps de construction
+ *   body        int       CRC32 du corps
+ * corps : offsets (rows * cols + 1 int), puis targets, weights, middles (edges int chacun)
+ * </pre>
+ */
+public class ContractionHierarchy {
+    /**
+     * Extension des fichiers de hiérarchie.
+     */
+    public static final String EXTENSION = ".lch";
+
+    private static final byte[] MAGIC = {'L', 'A', 'C', 'H'};
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 40;
+    private static final int IO_CHUNK_INTS = 1 << 16;
+
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int WITNESS_SETTLE_LIMIT = 64;  // Cellules fixées au plus par recherche de témoin
+    private static final int LATENCY_SAMPLES = 1024;     // Requêtes conservées pour les percentiles
+
+    private static final int FORWARD = 0;           // Couches de marques : cellules atteintes dans chaque sens
+    private static final int BACKWARD = 1;
+    private static final int FORWARD_DIST = 0;      // Tableaux de l'espace de travail
+    private static final int FORWARD_PARENT = 1;
+    private static final int BACKWARD_DIST = 2;
+    private static final int BACKWARD_PARENT = 3;
+
+    private final Maze maze;
+    private final int cols;
+    private final int wallsCrc;
+    private final int[] offsets;   // Début des arêtes montantes de chaque cellule, plus une sentinelle
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] middles;   // Cellule contractée d'un raccourci, -1 pour une arête d'origine
+    private final int shortcutCount;
+    private final long buildNanos;
+
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private long queryCount;
+
+    /**
+     * Construit la hiérarchie de contraction du labyrinthe.
+     * Préférer {@link #of(Maze)} ou {@link #loadOrBuild(Maze, Path)}, qui réutilisent une hiérarchie existante.
+     *
+     * @param maze Le labyrinthe.
+     */
+    public ContractionHierarchy(Maze maze) {
+        this(maze, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Construit la hiérarchie de contraction du labyrinthe dans les limites de l'échéance et du jeton
+     * du budget, vérifiés toutes les {@link SolverBudget#CHECK_INTERVAL} cellules contractées.
+     *
+     * @throws BuildInterruptedException si le budget est épuisé avant la fin de la construction.
+     */
+    ContractionHierarchy(Maze maze, SolverBudget budget) {
+        long startTime = System.nanoTime();
+        this.maze = maze;
+        this.cols = maze.getCols();
+        this.wallsCrc = wallsCrc(maze);
+        int cells = maze.getRows() * cols;
+
+        Builder builder = new Builder(maze, budget);
+        int[] rank = builder.contractAll(budget);
+
+        // Conserver de chaque arête le sens montant, depuis sa cellule de rang inférieur
+        offsets = new int[cells + 1];
+        for (int cell = 0; cell < cells; cell++) {
+            int upward = 0;
+            for (int e = builder.head[cell]; e >= 0; e = builder.next[e]) {
+                if (rank[builder.target[e]] > rank[cell]) {
+                    upward++;
+                }
+            }
+            offsets[cell + 1] = offsets[cell] + upward;
+        }
+        targets = new int[offsets[cells]];
+        weights = new int[offsets[cells]];
+        middles = new int[offsets[cells]];
+        int shortcuts = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int at = offsets[cell];
+            for (int e = builder.head[cell]; e >= 0; e = builder.next[e]) {
+                if (rank[builder.target[e]] > rank[cell]) {
+                    targets[at] = builder.target[e];
+                    weights[at] = builder.weight[e];
+                    middles[at++] = builder.middle[e];
+                    if (builder.middle[e] >= 0) {
+                        shortcuts++;
+                    }
+                }
+            }
+        }
+        shortcutCount = shortcuts;
+        buildNanos = System.nanoTime() - startTime;
+    }
+
+    private ContractionHierarchy(Maze maze, int wallsCrc, int[] offsets, int[] targets, int[] weights,
+                                 int[] middles, int shortcutCount, long buildNanos) {
+        this.maze = maze;
+        this.cols = maze.getCols();
+        this.wallsCrc = wallsCrc;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+        this.shortcutCount = shortcutCount;
+        this.buildNanos = buildNanos;
+    }
+
+    /**
+     * Retourne la hiérarchie du labyrinthe, construite au premier appel puis conservée par le
+     * labyrinthe jusqu'à sa prochaine modification.
+     *
+     * @param maze Le labyrinthe.
+     * @return La hiérarchie de contraction.
+     */
+    public static ContractionHierarchy of(Maze maze) {
+        return maze.getCached(ContractionHierarchy.class, ContractionHierarchy::new);
+    }
+
+    /**
+     * Comme {@link #of(Maze)}, mais une construction nécessaire est abandonnée dès que l'échéance ou le
+     * jeton du budget l'exige ; la hiérarchie inachevée n'est pas conservée.
+     *
+     * @param maze   Le labyrinthe.
+     * @param budget Les limites de la construction.
+     * @return La hiérarchie de contraction, ou un Optional vide si la construction a été interrompue.
+     */
+    public static Optional<ContractionHierarchy> of(Maze maze, SolverBudget budget) {
+        return Optional.ofNullable(maze.getCached(ContractionHierarchy.class,
+                m -> BuildInterruptedException.orNull(() -> new ContractionHierarchy(m, budget))));
+    }
+
+    /**
+     * Charge la hiérarchie enregistrée à côté du fichier du labyrinthe, ou la construit et l'enregistre
+     * si elle est absente, illisible ou d'un autre labyrinthe. Elle est ensuite conservée par le
+     * labyrinthe comme avec {@link #of(Maze)}, même si son enregistrement échoue.
+     *
+     * @param maze     Le labyrinthe.
+     * @param mazeFile Le fichier du labyrinthe.
+     * @return La hiérarchie de contraction.
+     * @throws IOException si l'enregistrement d'une hiérarchie construite échoue.
+     */
+    public static ContractionHierarchy loadOrBuild(Maze maze, Path mazeFile) throws IOException {
+        Path file = sidecarPath(mazeFile);
+        if (Files.isRegularFile(file)) {
+            try {
+                ContractionHierarchy loaded = read(file, maze);
+                return maze.getCached(ContractionHierarchy.class, m -> loaded);
+            } catch (IOException e) {
+                // Fichier périmé ou corrompu : il est reconstruit ci-dessous
+            }
+        }
+        ContractionHierarchy hierarchy = of(maze);
+        hierarchy.write(file);
+        return hierarchy;
+    }
+
+    /**
+     * Retourne le chemin du fichier de hiérarchie associé à un fichier de labyrinthe : même nom,
+     * extension {@link #EXTENSION}.
+     *
+     * @param mazeFile Le fichier du labyrinthe.
+     * @return Le chemin du fichier de hiérarchie, dans le même répertoire.
+     */
+    public static Path sidecarPath(Path mazeFile) {
+        String name = mazeFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return mazeFile.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + EXTENSION);
+    }
+
+    /**
+     * Calcule le plus court chemin entre deux cellules.
+     *
+     * @param start La cellule de départ.
+     * @param end   La cellule d'arrivée.
+     * @return Un SolverResult contenant le chemin trouvé, le nombre de cellules fixées par les deux
+     *         recherches et la taille maximale de la file.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public SolverResult solve(Point start, Point end) {
+        return solve(start, end, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Calcule le plus court chemin entre deux cellules dans les limites du budget donné, qui compte
+     * les cellules fixées par les deux recherches.
+     *
+     * @param start  La cellule de départ.
+     * @param end    La cellule d'arrivée.
+     * @param budget Les limites de la requête.
+     * @return Un SolverResult comme {@link #solve(Point, Point)}, ou partiel si le budget est épuisé.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public SolverResult solve(Point start, Point end, SolverBudget budget) {
+        checkInside(start);
+        checkInside(end);
+        long startTime = System.nanoTime();
+        SolverResult result = search(start.x() * cols + start.y(), end.x() * cols + end.y(), budget);
+        recordLatency(System.nanoTime() - startTime);
+        return result;
+    }
+
+    /**
+     * Calcule la longueur du plus court chemin entre deux cellules.
+     *
+     * @param start La cellule de départ.
+     * @param end   La cellule d'arrivée.
+     * @return Le nombre de déplacements, ou -1 si l'arrivée est inaccessible.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public int distance(Point start, Point end) {
+        SolverResult result = solve(start, end);
+        // Le chemin compte ses deux extrémités : un déplacement de moins que de cellules
+        return result.isFound() ? result.getPath().length - 1 : -1;
+    }
+
+    private void checkInside(Point point) {
+        if (point.x() < 0 || point.x() >= maze.getRows() || point.y() < 0 || point.y() >= cols) {
+            throw new IllegalArgumentException("Cellule hors du labyrinthe : " + point);
+        }
+    }
+
+    /**
+     * Recherche bidirectionnelle montante : la recherche avant est complète, la recherche arrière
+     * s'arrête dès que sa distance atteint le meilleur chemin connu.
+     */
+    private SolverResult search(int start, int end, SolverBudget budget) {
+        if (maze.isWall(start / cols, start % cols) || maze.isWall(end / cols, end % cols)) {
+            return SolverResult.notFound(maze, 0, 0);
+        }
+        if (start == end) {
+            return SolverResult.found(maze, new int[]{start}, 1, 1);
+        }
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(offsets.length - 1)) {
+            int[] forwardDist = workspace.ints(FORWARD_DIST);
+            int[] forwardParent = workspace.ints(FORWARD_PARENT);
+            int[] backwardDist = workspace.ints(BACKWARD_DIST);
+            int[] backwardParent = workspace.ints(BACKWARD_PARENT);
+            BucketQueue queue = workspace.bucketQueue();
+            int steps = 0;
+            int peakFrontier = 1;
+
+            forwardDist[start] = 0;
+            forwardParent[start] = start;
+            workspace.mark(FORWARD, start);
+            queue.push(start, 0);
+            while (!queue.isEmpty()) {
+                int current = queue.pop();
+                if (queue.currentPriority() > forwardDist[current]) {
+                    continue; // Entrée périmée
+                }
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                steps++;
+                for (int edge = offsets[current]; edge < offsets[current + 1]; edge++) {
+                    int neighbor = targets[edge];
+                    int distance = forwardDist[current] + weights[edge];
+                    if (!workspace.isMarked(FORWARD, neighbor) || distance < forwardDist[neighbor]) {
+                        workspace.mark(FORWARD, neighbor);
+                        forwardDist[neighbor] = distance;
+                        forwardParent[neighbor] = current;
+                        queue.push(neighbor, distance);
+                        peakFrontier = Math.max(peakFrontier, queue.size());
+                    }
+                }
+            }
+
+            queue.clear();
+            int best = Integer.MAX_VALUE;
+            int meeting = -1;
+            backwardDist[end] = 0;
+            backwardParent[end] = end;
+            workspace.mark(BACKWARD, end);
+            queue.push(end, 0);
+            while (!queue.isEmpty()) {
+                int current = queue.pop();
+                int distance = queue.currentPriority();
+                if (distance > backwardDist[current]) {
+                    continue; // Entrée périmée
+                }
+                if (distance >= best) {
+                    break; // Aucune rencontre plus courte n'est possible
+                }
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                steps++;
+                if (workspace.isMarked(FORWARD, current) && forwardDist[current] + distance < best) {
+                    best = forwardDist[current] + distance;
+                    meeting = current;
+                }
+                for (int edge = offsets[current]; edge < offsets[current + 1]; edge++) {
+                    int neighbor = targets[edge];
+                    int next = distance + weights[edge];
+                    if (!workspace.isMarked(BACKWARD, neighbor) || next < backwardDist[neighbor]) {
+                        workspace.mark(BACKWARD, neighbor);
+                        backwardDist[neighbor] = next;
+                        backwardParent[neighbor] = current;
+                        queue.push(neighbor, next);
+                        peakFrontier = Math.max(peakFrontier, queue.size());
+                    }
+                }
+            }
+
+            if (meeting < 0) {
+                return SolverResult.notFound(maze, steps, peakFrontier);
+            }
+            // Cellules de la hiérarchie du départ à l'arrivée, puis dépliage de chaque arête
+            IntStack upward = new IntStack(64);
+            for (int cell = meeting; cell != start; cell = forwardParent[cell]) {
+                upward.push(cell);
+            }
+            int[] path = new int[best + 1];
+            path[0] = start;
+            int at = 1;
+            int previous = start;
+            while (!upward.isEmpty()) {
+                int cell = upward.pop();
+                at = unpack(previous, cell, path, at, workspace.stack());
+                previous = cell;
+            }
+            for (int cell = meeting; cell != end; cell = backwardParent[cell]) {
+                at = unpack(cell, backwardParent[cell], path, at, workspace.stack());
+            }
+            return SolverResult.found(maze, path, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Déplie l'arête entre deux cellules voisines dans la hiérarchie en écrivant les cellules qui
+     * suivent {@code from}, jusqu'à {@code to} inclus, à partir de {@code path[at]}.
+     *
+     * @return La position qui suit la dernière cellule écrite.
+     */
+    private int unpack(int from, int to, int[] path, int at, IntStack pending) {
+        // Paires (origine, destination) à déplier, la prochaine en sommet de pile
+        pending.clear();
+        pending.push(from);
+        pending.push(to);
+        while (!pending.isEmpty()) {
+            int b = pending.pop();
+            int a = pending.pop();
+            int middle = middles[edgeBetween(a, b)];
+            if (middle < 0) {
+                path[at++] = b;
+            } else {
+                // Le raccourci a-b remplace a-middle puis middle-b
+                pending.push(middle);
+                pending.push(b);
+                pending.push(a);
+                pending.push(middle);
+            }
+        }
+        return at;
+    }
+
+    /**
+     * Retourne l'arête montante qui relie deux cellules, depuis celle des deux de rang inférieur.
+     */
+    private int edgeBetween(int a, int b) {
+        for (int edge = offsets[a]; edge < offsets[a + 1]; edge++) {
+            if (targets[edge] == b) {
+                return edge;
+            }
+        }
+        for (int edge = offsets[b]; edge < offsets[b + 1]; edge++) {
+            if (targets[edge] == a) {
+                return edge;
+            }
+        }
+        throw new IllegalStateException("Arête absente de la hiérarchie : " + a + "-" + b);
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[(int) (queryCount++ % LATENCY_SAMPLES)] = nanos;
+    }
+
+    /**
+     * Retourne un percentile de la durée des requêtes, calculé sur les {@value #LATENCY_SAMPLES}
+     * dernières.
+     *
+     * @param percentile Le percentile, entre 0 et 100 (50 pour la médiane, 99 pour le p99).
+     * @return La durée en nanosecondes, 0 si aucune requête n'a été faite.
+     * @throws IllegalArgumentException si le percentile est hors de [0, 100].
+     */
+    public synchronized long getLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile invalide : " + percentile);
+        }
+        int count = (int) Math.min(queryCount, LATENCY_SAMPLES);
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted[Math.max(0, (int) Math.ceil(percentile / 100 * count) - 1)];
+    }
+
+    /**
+     * @return Le nombre de requêtes traitées par cette hiérarchie.
+     */
+    public synchronized long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * @return Le nombre de raccourcis de la hiérarchie.
+     */
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * @return Le nombre d'arêtes montantes, raccourcis compris.
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @return Le temps de construction de la hiérarchie, en nanosecondes (celui de la construction
+     *         d'origine pour une hiérarchie chargée depuis un fichier).
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @return Une estimation de la mémoire occupée par la hiérarchie, en octets.
+     */
+    public long memoryBytes() {
+        return 4L * (offsets.length + 3L * targets.length);
+    }
+
+    /**
+     * Enregistre la hiérarchie dans un fichier (le fichier existant est remplacé).
+     *
+     * @param file Le chemin du fichier, en général {@link #sidecarPath(Path)}.
+     * @throws IOException si l'écriture échoue.
+     */
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // Corps d'abord, après la place de l'en-tête : celui-ci porte la somme de contrôle du corps
+            channel.position(HEADER_SIZE);
+            CRC32 bodyCrc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocate(IO_CHUNK_INTS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int[] array : new int[][]{offsets, targets, weights, middles}) {
+                for (int from = 0; from < array.length; from += IO_CHUNK_INTS) {
+                    int length = Math.min(IO_CHUNK_INTS, array.length - from);
+                    buffer.clear();
+                    buffer.asIntBuffer().put(array, from, length);
+                    buffer.limit(length * Integer.BYTES);
+                    bodyCrc.update(buffer.array(), 0, buffer.limit());
+                    writeFully(channel, buffer);
+                }
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC);
+            header.putShort((short) VERSION);
+            header.putShort((short) 0);
+            header.putInt(maze.getRows()).putInt(cols);
+            header.putInt(wallsCrc);
+            header.putInt(targets.length).putInt(shortcutCount);
+            header.putLong(buildNanos);
+            header.putInt((int) bodyCrc.getValue());
+            header.flip();
+            channel.position(0);
+            writeFully(channel, header);
+        }
+    }
+
+    /**
+     * Charge une hiérarchie enregistrée par {@link #write(Path)}.
+     *
+     * @param file Le chemin du fichier.
+     * @param maze Le labyrinthe auquel la hiérarchie doit correspondre.
+     * @return La hiérarchie chargée.
+     * @throws IOException si le fichier est illisible, tronqué, corrompu, d'une version non supportée
+     *                     ou construit pour un autre labyrinthe.
+     */
+    public static ContractionHierarchy read(Path file, Maze maze) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Fichier de hiérarchie invalide");
+            }
+            int version = Short.toUnsignedInt(header.getShort());
+            if (version != VERSION) {
+                throw new IOException("Version de format non supportée : " + version);
+            }
+            header.getShort();
+            int rows = header.getInt();
+            int cols = header.getInt();
+            int crc = header.getInt();
+            if (rows != maze.getRows() || cols != maze.getCols() || crc != wallsCrc(maze)) {
+                throw new IOException("Hiérarchie construite pour un autre labyrinthe");
+            }
+            int edges = header.getInt();
+            int shortcuts = header.getInt();
+            long buildNanos = header.getLong();
+            int expectedBodyCrc = header.getInt();
+            int cells = rows * cols;
+            if (edges < 0 || shortcuts < 0 || shortcuts > edges) {
+                throw new IOException("Nombre d'arêtes invalide : " + edges);
+            }
+            if ((channel.size() - HEADER_SIZE) / Integer.BYTES != cells + 1 + 3L * edges) {
+                throw new IOException("Taille du fichier de hiérarchie incohérente");
+            }
+
+            CRC32 bodyCrc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocate(IO_CHUNK_INTS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int[] offsets = readInts(channel, buffer, cells + 1, bodyCrc);
+            int[] targets = readInts(channel, buffer, edges, bodyCrc);
+            int[] weights = readInts(channel, buffer, edges, bodyCrc);
+            int[] middles = readInts(channel, buffer, edges, bodyCrc);
+            if ((int) bodyCrc.getValue() != expectedBodyCrc) {
+                throw new IOException("Fichier de hiérarchie corrompu");
+            }
+            validate(offsets, targets, weights, middles, cells);
+            return new ContractionHierarchy(maze, crc, offsets, targets, weights, middles, shortcuts, buildNanos);
+        }
+    }
+
+    private static int[] readInts(FileChannel channel, ByteBuffer buffer, int count, CRC32 crc) throws IOException {
+        int[] array = new int[count];
+        for (int from = 0; from < count; from += IO_CHUNK_INTS) {
+            int length = Math.min(IO_CHUNK_INTS, count - from);
+            buffer.clear();
+            buffer.limit(length * Integer.BYTES);
+            readFully(channel, buffer);
+            buffer.flip();
+            crc.update(buffer.array(), 0, buffer.limit());
+            buffer.asIntBuffer().get(array, from, length);
+        }
+        return array;
+    }
+
+    /**
+     * Vérifie que les tables chargées décrivent bien un graphe sur les cellules du labyrinthe, pour
+     * qu'un fichier incohérent soit écarté au chargement et non au milieu d'une requête.
+     *
+     * @throws IOException si une table est incohérente.
+     */
+    private static void validate(int[] offsets, int[] targets, int[] weights, int[] middles, int cells)
+            throws IOException {
+        if (offsets[0] != 0 || offsets[cells] != targets.length) {
+            throw new IOException("Table des arêtes invalide");
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (offsets[cell + 1] < offsets[cell]) {
+                throw new IOException("Table des arêtes non croissante en " + cell);
+            }
+        }
+        for (int edge = 0; edge < targets.length; edge++) {
+            if (targets[edge] < 0 || targets[edge] >= cells || weights[edge] < 1
+                    || middles[edge] < -1 || middles[edge] >= cells) {
+                throw new IOException("Arête invalide : " + edge);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Fichier de hiérarchie tronqué");
+            }
+        }
+    }
+
+    /**
+     * Empreinte des murs du labyrinthe : CRC32 des mots de sa {@link BitGrid}.
+     */
+    private static int wallsCrc(Maze maze) {
+        BitGrid bits = maze.toBitGrid();
+        CRC32 crc = new CRC32();
+        ByteBuffer word = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int w = 0; w < bits.getWordCount(); w++) {
+            word.clear();
+            word.putLong(bits.getWord(w));
+            crc.update(word.array(), 0, Long.BYTES);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Graphe modifiable pendant la contraction : listes chaînées d'arêtes par cellule, l'arête
+     * {@code e} et l'arête {@code e ^ 1} étant les deux sens d'une même liaison.
+     */
+    private static final class Builder {
+        private final int cells;
+        private final boolean[] open;
+        private final int[] head;      // Première arête de chaque cellule, -1 si aucune
+        private int[] next;
+        private int[] target;
+        private int[] weight;
+        private int[] middle;
+        private int edgeCount;
+
+        private final int[] rank;            // Rang de contraction, -1 tant que la cellule n'est pas contractée
+        private final int[] priority;        // Dernière priorité calculée de chaque cellule
+        private final int[] contracted;      // Nombre de voisins déjà contractés
+        private final int[] witnessDist;     // Distances de la recherche de témoin, MAX_VALUE hors recherche
+        private final IntStack touched = new IntStack(64);
+        private final LongHeap witnessHeap = new LongHeap(64);
+        private int[] neighbors = new int[8];
+        private int[] neighborWeights = new int[8];
+
+        Builder(Maze maze, SolverBudget budget) {
+            int rows = maze.getRows();
+            int cols = maze.getCols();
+            cells = rows * cols;
+            open = new boolean[cells];
+            head = new int[cells];
+            Arrays.fill(head, -1);
+            next = new int[4 * cells + 2];
+            target = new int[next.length];
+            weight = new int[next.length];
+            middle = new int[next.length];
+            for (int x = 0; x < rows; x++) {
+                budget.checkBuild();
+                for (int y = 0; y < cols; y++) {
+                    if (maze.isWall(x, y)) {
+                        continue;
+                    }
+                    int cell = x * cols + y;
+                    open[cell] = true;
+                    // Liaisons vers le haut et la gauche, chaque paire de voisins une seule fois
+                    for (int[] dir : DIRECTIONS) {
+                        if ((dir[0] < 0 || dir[1] < 0) && !maze.isWall(x + dir[0], y + dir[1])) {
+                            addPair(cell, (x + dir[0]) * cols + y + dir[1], 1, -1);
+                        }
+                    }
+                }
+            }
+            rank = new int[cells];
+            Arrays.fill(rank, -1);
+            priority = new int[cells];
+            contracted = new int[cells];
+            witnessDist = new int[cells];
+            Arrays.fill(witnessDist, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Contracte toutes les cellules libres et retourne leur rang ; les murs gardent le rang -1.
+         *
+         * @throws BuildInterruptedException si le budget est épuisé.
+         */
+        int[] contractAll(SolverBudget budget) {
+            LongHeap queue = new LongHeap(cells);
+            for (int cell = 0; cell < cells; cell++) {
+                if ((cell & (SolverBudget.CHECK_INTERVAL - 1)) == 0) {
+                    budget.checkBuild();
+                }
+                if (open[cell]) {
+                    priority[cell] = computePriority(cell);
+                    queue.push(key(priority[cell], cell));
+                }
+            }
+            int nextRank = 0;
+            for (int popped = 0; !queue.isEmpty(); popped++) {
+                if ((popped & (SolverBudget.CHECK_INTERVAL - 1)) == 0) {
+                    budget.checkBuild();
+                }
+                long top = queue.pop();
+                int cell = (int) top;
+                if (rank[cell] >= 0 || (int) (top >> 32) != priority[cell]) {
+                    continue; // Entrée périmée
+                }
+                // Mise à jour paresseuse : recalculer et reporter si la cellule n'est plus la moins importante
+                int updated = computePriority(cell);
+                if (!queue.isEmpty() && updated > (int) (queue.peek() >> 32)) {
+                    priority[cell] = updated;
+                    queue.push(key(updated, cell));
+                    continue;
+                }
+                int degree = contract(cell, false);
+                int[] around = Arrays.copyOf(neighbors, degree);
+                rank[cell] = nextRank++;
+                for (int neighbor : around) {
+                    contracted[neighbor]++;
+                    priority[neighbor] = computePriority(neighbor);
+                    queue.push(key(priority[neighbor], neighbor));
+                }
+            }
+            return rank;
+        }
+
+        private static long key(int priority, int cell) {
+            return ((long) priority << 32) | cell;
+        }
+
+        /**
+         * Priorité d'une cellule : différence d'arêtes plus nombre de voisins déjà contractés.
+         */
+        private int computePriority(int cell) {
+            int degree = liveNeighbors(cell);
+            int shortcuts = contract(cell, true);
+            return shortcuts - degree + contracted[cell];
+        }
+
+        /**
+         * Range les voisins non contractés de la cellule dans {@code neighbors}.
+         *
+         * @return Leur nombre.
+         */
+        private int liveNeighbors(int cell) {
+            int count = 0;
+            for (int e = head[cell]; e >= 0; e = next[e]) {
+                if (rank[target[e]] < 0) {
+                    if (count == neighbors.length) {
+                        neighbors = Arrays.copyOf(neighbors, count * 2);
+                        neighborWeights = Arrays.copyOf(neighborWeights, count * 2);
+                    }
+                    neighbors[count] = target[e];
+                    neighborWeights[count++] = weight[e];
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Contracte une cellule, ou simule seulement sa contraction.
+         *
+         * @param simulate {@code true} pour compter les raccourcis sans les ajouter.
+         * @return Le nombre de raccourcis nécessaires en simulation, le nombre de voisins sinon ; les
+         *         voisins restent dans {@code neighbors}.
+         */
+        private int contract(int cell, boolean simulate) {
+            int degree = liveNeighbors(cell);
+            int shortcuts = 0;
+            for (int i = 0; i < degree - 1; i++) {
+                int from = neighbors[i];
+                int limit = 0;
+                for (int j = i + 1; j < degree; j++) {
+                    limit = Math.max(limit, neighborWeights[i] + neighborWeights[j]);
+                }
+                witnessSearch(from, cell, limit);
+                for (int j = i + 1; j < degree; j++) {
+                    int via = neighborWeights[i] + neighborWeights[j];
+                    if (witnessDist[neighbors[j]] > via) {
+                        shortcuts++;
+                        if (!simulate) {
+                            addOrImprove(from, neighbors[j], via, cell);
+                        }
+                    }
+                }
+                while (!touched.isEmpty()) {
+                    witnessDist[touched.pop()] = Integer.MAX_VALUE;
+                }
+            }
+            return simulate ? shortcuts : degree;
+        }
+
+        /**
+         * Dijkstra borné depuis {@code source} sans passer par {@code excluded} ni par une cellule contractée.
+         */
+        private void witnessSearch(int source, int excluded, int limit) {
+            witnessDist[source] = 0;
+            touched.push(source);
+            witnessHeap.push(key(0, source));
+            int settled = 0;
+            while (!witnessHeap.isEmpty()) {
+                long top = witnessHeap.pop();
+                int current = (int) top;
+                int distance = (int) (top >> 32);
+                if (distance > witnessDist[current]) {
+                    continue;
+                }
+                if (distance > limit || ++settled > WITNESS_SETTLE_LIMIT) {
+                    break;
+                }
+                for (int e = head[current]; e >= 0; e = next[e]) {
+                    int neighbor = target[e];
+                    if (neighbor == excluded || rank[neighbor] >= 0) {
+                        continue;
+                    }
+                    int candidate = distance + weight[e];
+                    if (candidate < witnessDist[neighbor]) {
+                        if (witnessDist[neighbor] == Integer.MAX_VALUE) {
+                            touched.push(neighbor);
+                        }
+                        witnessDist[neighbor] = candidate;
+                        witnessHeap.push(key(candidate, neighbor));
+                    }
+                }
+            }
+            witnessHeap.clear();
+        }
+
+        /**
+         * Ajoute un raccourci, ou raccourcit la liaison existante entre les deux cellules.
+         */
+        private void addOrImprove(int a, int b, int length, int via) {
+            for (int e = head[a]; e >= 0; e = next[e]) {
+                if (target[e] == b) {
+                    if (length < weight[e]) {
+                        weight[e] = weight[e ^ 1] = length;
+                        middle[e] = middle[e ^ 1] = via;
+                    }
+                    return;
+                }
+            }
+            addPair(a, b, length, via);
+        }
+
+        private void addPair(int a, int b, int length, int via) {
+            if (edgeCount + 2 > next.length) {
+                int capacity = next.length * 2;
+                next = Arrays.copyOf(next, capacity);
+                target = Arrays.copyOf(target, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                middle = Arrays.copyOf(middle, capacity);
+            }
+            link(edgeCount++, a, b, length, via);
+            link(edgeCount++, b, a, length, via);
+        }
+
+        private void link(int e, int from, int to, int length, int via) {
+            target[e] = to;
+            weight[e] = length;
+            middle[e] = via;
+            next[e] = head[from];
+            head[from] = e;
+        }
+    }
+
+    /**
+     * Tas binaire minimal de clés {@code long}, sans objets intermédiaires.
+     */
+    private static final class LongHeap {
+        private long[] heap;
+        private int size;
+
+        LongHeap(int capacity) {
+            heap = new long[Math.max(1, capacity)];
+        }
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0 && heap[(i - 1) >>> 1] > value) {
+                heap[i] = heap[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            heap[i] = value;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
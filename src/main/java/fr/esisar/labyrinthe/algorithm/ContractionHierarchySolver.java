@@ -0,0 +1,45 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Résolution par requête sur la hiérarchie de contraction ({@link ContractionHierarchy}) du labyrinthe.
+ * <p>
+ * La hiérarchie est mise en cache dans le labyrinthe : la première résolution paie sa construction,
+ * les suivantes ne font qu'une requête bidirectionnelle montante. Pour un labyrinthe enregistré, la
+ * hiérarchie peut être chargée depuis son fichier par {@link ContractionHierarchy#loadOrBuild}.
+ * Le nombre d'étapes compte les cellules fixées par les deux recherches de la requête.
+ */
+public class ContractionHierarchySolver implements Solver {
+    @Override
+    public String getName() {
+        return "Hiérarchie de contraction";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe par une requête sur sa hiérarchie de contraction. La construction de la
+     * hiérarchie, si elle est nécessaire, est limitée par l'échéance et le jeton du budget ; la requête
+     * l'est en outre par le nombre d'étapes.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un SolverResult contenant le chemin trouvé, le nombre de cellules fixées et la taille
+     *         maximale de la file, ou un résultat partiel sans étape si la construction a été interrompue.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        ContractionHierarchy hierarchy = ContractionHierarchy.of(maze, budget).orElse(null);
+        if (hierarchy == null) {
+            return SolverResult.stopped(maze, budget.stopReason(0), 0, 0); // Construction de la hiérarchie interrompue
+        }
+        return hierarchy.solve(maze.getStart(), maze.getEnd(), budget);
+    }
+}
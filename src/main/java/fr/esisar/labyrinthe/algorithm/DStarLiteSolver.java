@@ -0,0 +1,271 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Replanification incrémentale (D* Lite) sur un labyrinthe dont les murs changent.
+ * <p>
+ * La recherche part de l'arrivée : {@code g} est la distance de chaque cellule à l'arrivée telle que
+ * connue, {@code rhs} la valeur recalculée à partir des voisins. Une cellule est cohérente si les deux
+ * sont égales ; seules les cellules incohérentes sont dans la file, ordonnée par la clé
+ * {@code [min(g, rhs) + h(départ, cellule) + km ; min(g, rhs)]}. L'état est conservé d'un appel à
+ * l'autre : après une modification, seules les cellules changées et leurs voisins sont réévalués, et la
+ * réparation ne se propage qu'à la partie de l'arbre des plus courts chemins qui en dépend. Le coût
+ * d'une replanification est ainsi proportionnel à l'étendue du changement, pas à la taille du labyrinthe.
+ * <p>
+ * Le départ peut aussi avancer ({@link #moveStart(Point)}) sans perdre l'état : le terme {@code km}
+ * compense la baisse de l'heuristique au lieu de recalculer toutes les clés.
+ * <p>
+ * Les murs doivent être modifiés par {@link #setWalls(Map)}, ou par {@link Maze#setWall} suivi de
+ * {@link #update(Collection)}. Une modification du labyrinthe que le solveur ne connaît pas est
+ * détectée par la version du labyrinthe et entraîne une replanification complète. Un solveur ne doit
+ * être utilisé que par un thread à la fois.
+ */
+public class DStarLiteSolver {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int INFINITY = Integer.MAX_VALUE / 4; // Distance inconnue, sans débordement des clés
+
+    private final Maze maze;
+    private final int rows;
+    private final int cols;
+    private final int goal;
+    private final int[] g;          // Distance à l'arrivée connue
+    private final int[] rhs;        // Distance recalculée à partir des voisins
+    private final IndexedHeap open; // Cellules incohérentes
+    private int start;
+    private int lastStart;          // Départ lors du dernier ajustement de km
+    private int km;                 // Somme des baisses de l'heuristique dues aux déplacements du départ
+    private int version;            // Version du labyrinthe prise en compte
+    private int steps;
+    private int peakFrontier;
+
+    /**
+     * Prépare la replanification entre le départ et l'arrivée du labyrinthe. Aucune recherche n'est
+     * faite avant le premier appel à {@link #solve()}.
+     *
+     * @param maze Le labyrinthe, qui pourra être modifié entre deux appels.
+     */
+    public DStarLiteSolver(Maze maze) {
+        this.maze = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
+        this.goal = maze.getEnd().x() * cols + maze.getEnd().y();
+        this.start = maze.getStart().x() * cols + maze.getStart().y();
+        this.g = new int[rows * cols];
+        this.rhs = new int[rows * cols];
+        this.open = new IndexedHeap(rows * cols);
+        reset();
+    }
+
+    /**
+     * Abandonne l'état de recherche : la prochaine résolution repart de zéro.
+     */
+    private void reset() {
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        open.clear();
+        km = 0;
+        lastStart = start;
+        rhs[goal] = 0;
+        open.put(goal, key(goal));
+        version = maze.getVersion();
+    }
+
+    /**
+     * Retourne le plus court chemin courant, en terminant la recherche si nécessaire.
+     *
+     * @return Un SolverResult contenant le chemin du départ courant à l'arrivée, le nombre de cellules
+     *         développées par cet appel et la taille maximale de la file.
+     */
+    public SolverResult solve() {
+        if (maze.getVersion() != version) {
+            reset(); // Modification non signalée : l'état ne peut pas être réparé
+        }
+        return plan();
+    }
+
+    /**
+     * Modifie un lot de cellules du labyrinthe puis replanifie.
+     *
+     * @param changes Pour chaque cellule, {@code true} pour en faire un mur, {@code false} pour la libérer.
+     * @return Le résultat de la replanification, comme {@link #solve()}.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public SolverResult setWalls(Map<Point, Boolean> changes) {
+        boolean upToDate = maze.getVersion() == version;
+        for (Map.Entry<Point, Boolean> change : changes.entrySet()) {
+            maze.setWall(change.getKey().x(), change.getKey().y(), change.getValue());
+        }
+        // Si le labyrinthe avait déjà changé à l'insu du solveur, solve() repart de zéro
+        return upToDate ? update(changes.keySet()) : solve();
+    }
+
+    /**
+     * Signale un lot de cellules dont l'état mur / libre a changé (par {@link Maze#setWall}) depuis
+     * le dernier appel, puis replanifie. Seules ces cellules et leurs voisines sont réévaluées.
+     *
+     * @param changedCells Les cellules modifiées.
+     * @return Le résultat de la replanification, comme {@link #solve()}.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public SolverResult update(Collection<Point> changedCells) {
+        for (Point point : changedCells) {
+            int cell = cellIndex(point);
+            updateVertex(cell);
+            int x = point.x();
+            int y = point.y();
+            for (int[] dir : DIRECTIONS) {
+                int nx = x + dir[0];
+                int ny = y + dir[1];
+                if (nx >= 0 && nx < rows && ny >= 0 && ny < cols) {
+                    updateVertex(nx * cols + ny);
+                }
+            }
+        }
+        version = maze.getVersion();
+        return plan();
+    }
+
+    /**
+     * Déplace le départ (par exemple le long du chemin déjà suivi) puis replanifie.
+     *
+     * @param newStart Le nouveau départ.
+     * @return Le résultat de la replanification, comme {@link #solve()}.
+     * @throws IllegalArgumentException si la cellule est hors du labyrinthe.
+     */
+    public SolverResult moveStart(Point newStart) {
+        int cell = cellIndex(newStart);
+        km += heuristic(lastStart, cell);
+        lastStart = cell;
+        start = cell;
+        return solve();
+    }
+
+    private int cellIndex(Point point) {
+        if (point.x() < 0 || point.x() >= rows || point.y() < 0 || point.y() >= cols) {
+            throw new IllegalArgumentException("Cellule hors du labyrinthe : " + point);
+        }
+        return point.x() * cols + point.y();
+    }
+
+    private boolean isWall(int cell) {
+        return maze.isWall(cell / cols, cell % cols);
+    }
+
+    /**
+     * Termine la recherche puis lit le chemin en descendant les distances depuis le départ.
+     */
+    private SolverResult plan() {
+        steps = 0;
+        peakFrontier = open.size();
+        if (isWall(start) || isWall(goal)) {
+            return SolverResult.notFound(maze, 0, 0);
+        }
+        computeShortestPath();
+        if (g[start] >= INFINITY) {
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+
+        IntStack path = new IntStack(g[start] + 1);
+        int current = start;
+        path.push(current);
+        while (current != goal) {
+            int x = current / cols;
+            int y = current - x * cols;
+            int next = -1;
+            for (int[] dir : DIRECTIONS) {
+                int nx = x + dir[0];
+                int ny = y + dir[1];
+                if (!maze.isWall(nx, ny) && (next < 0 || g[nx * cols + ny] < g[next])) {
+                    next = nx * cols + ny;
+                }
+            }
+            if (next < 0 || g[next] >= INFINITY || path.size() > g[start]) {
+                throw new IllegalStateException("État de recherche incohérent en " + current);
+            }
+            current = next;
+            path.push(current);
+        }
+        return SolverResult.found(maze, path.toArray(), steps, peakFrontier);
+    }
+
+    /**
+     * Développe les cellules incohérentes jusqu'à ce que le départ soit cohérent et qu'aucune clé de la
+     * file ne soit inférieure à la sienne.
+     */
+    private void computeShortestPath() {
+        while (!open.isEmpty() && (open.peekKey() < key(start) || rhs[start] != g[start])) {
+            int current = open.peek();
+            long newKey = key(current);
+            if (open.peekKey() < newKey) {
+                open.put(current, newKey); // Clé calculée avec un ancien départ
+                continue;
+            }
+            steps++;
+            if (g[current] > rhs[current]) {
+                g[current] = rhs[current]; // Sur-cohérente : la distance baisse
+                open.remove(current);
+            } else {
+                g[current] = INFINITY;     // Sous-cohérente : la distance doit être recalculée
+                updateVertex(current);
+            }
+            int x = current / cols;
+            int y = current - x * cols;
+            for (int[] dir : DIRECTIONS) {
+                int nx = x + dir[0];
+                int ny = y + dir[1];
+                if (nx >= 0 && nx < rows && ny >= 0 && ny < cols) {
+                    updateVertex(nx * cols + ny);
+                }
+            }
+            peakFrontier = Math.max(peakFrontier, open.size());
+        }
+    }
+
+    /**
+     * Recalcule {@code rhs} d'une cellule à partir de ses voisins et met à jour sa place dans la file.
+     */
+    private void updateVertex(int cell) {
+        if (cell != goal) {
+            int best = INFINITY;
+            if (!isWall(cell)) {
+                int x = cell / cols;
+                int y = cell - x * cols;
+                for (int[] dir : DIRECTIONS) {
+                    int nx = x + dir[0];
+                    int ny = y + dir[1];
+                    if (!maze.isWall(nx, ny)) {
+                        best = Math.min(best, g[nx * cols + ny] + 1);
+                    }
+                }
+            }
+            rhs[cell] = Math.min(best, INFINITY);
+        }
+        if (g[cell] != rhs[cell]) {
+            open.put(cell, key(cell));
+        } else {
+            open.remove(cell);
+        }
+    }
+
+    /**
+     * Clé d'une cellule : {@code min(g, rhs) + h + km} dans les 32 bits de poids fort,
+     * {@code min(g, rhs)} dans les 32 bits de poids faible.
+     */
+    private long key(int cell) {
+        int distance = Math.min(g[cell], rhs[cell]);
+        return ((long) (distance + heuristic(start, cell) + km) << 32) | distance;
+    }
+
+    /**
+     * Fonction heuristique (distance de Manhattan entre deux cellules).
+     */
+    private int heuristic(int a, int b) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+}
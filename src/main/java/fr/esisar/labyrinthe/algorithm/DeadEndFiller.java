@@ -0,0 +1,138 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.BitGrid;
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Remplissage des impasses : les cellules libres qui ont au plus un voisin libre (départ et arrivée
+ * exceptés) sont murées, jusqu'à ce qu'il n'en reste plus.
+ * <p>
+ * Une cellule d'un chemin simple du départ à l'arrivée a toujours deux voisins sur ce chemin : elle
+ * n'est jamais murée. Dans un labyrinthe parfait, il ne reste donc que la solution ; dans un
+ * labyrinthe à boucles, il reste les chemins du départ à l'arrivée et les boucles, ce qui réduit
+ * fortement l'espace de recherche.
+ * <p>
+ * Le calcul travaille mot par mot sur l'ensemble des cellules libres (64 cellules à la fois) : pour
+ * chaque mot, les quatre ensembles de voisins sont obtenus par décalage et le test « au moins deux
+ * voisins » est une expression booléenne sur ces quatre mots. Un mot n'est réévalué que si lui ou un
+ * mot voisin (à gauche, à droite, une ligne au-dessus ou au-dessous) a changé.
+ */
+public class DeadEndFiller {
+    private final Maze filled;
+    private final int eliminatedCells;
+
+    /**
+     * Remplit les impasses du labyrinthe.
+     *
+     * @param maze Le labyrinthe à traiter ; il n'est pas modifié.
+     */
+    public DeadEndFiller(Maze maze) {
+        this(maze, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Remplit les impasses du labyrinthe dans les limites de l'échéance et du jeton du budget, vérifiés
+     * toutes les {@link SolverBudget#CHECK_INTERVAL} réévaluations de mot.
+     *
+     * @throws BuildInterruptedException si le budget est épuisé avant la fin du remplissage.
+     */
+    DeadEndFiller(Maze maze, SolverBudget budget) {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        long[] open = CellBits.openCells(maze);
+        long[] notFirstCol = CellBits.columnMask(rows, cols, true);
+        long[] notLastCol = CellBits.columnMask(rows, cols, false);
+        int words = open.length;
+
+        // Le départ et l'arrivée ne sont jamais murés
+        long[] keep = new long[words];
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+        keep[start >>> 6] |= 1L << start;
+        keep[end >>> 6] |= 1L << end;
+
+        // Liste des mots à réévaluer ; au départ, tous
+        long[] dirty = new long[(words + 63) >>> 6];
+        IntStack worklist = new IntStack(words);
+        for (int w = words - 1; w >= 0; w--) {
+            worklist.push(w);
+            dirty[w >>> 6] |= 1L << w;
+        }
+        long[] removed = new long[words];
+        int eliminated = 0;
+        for (int evaluated = 0; !worklist.isEmpty(); evaluated++) {
+            if ((evaluated & (SolverBudget.CHECK_INTERVAL - 1)) == 0) {
+                budget.checkBuild();
+            }
+            int w = worklist.pop();
+            dirty[w >>> 6] &= ~(1L << w);
+
+            // Réévaluer le mot jusqu'à stabilité : un couloir horizontal se vide d'une cellule par passe
+            long before = open[w];
+            long deadEnds;
+            do {
+                long up = CellBits.shiftedWord(open, w, -cols);
+                long down = CellBits.shiftedWord(open, w, cols);
+                long left = CellBits.shiftedWord(open, w, -1) & notFirstCol[w];
+                long right = CellBits.shiftedWord(open, w, 1) & notLastCol[w];
+                long atLeastTwo = ((up | down) & (left | right)) | (up & down) | (left & right);
+                deadEnds = open[w] & ~atLeastTwo & ~keep[w];
+                open[w] &= ~deadEnds;
+            } while (deadEnds != 0);
+            long changed = before & ~open[w];
+            if (changed == 0) {
+                continue;
+            }
+            removed[w] |= changed;
+            eliminated += Long.bitCount(changed);
+
+            // Seuls les mots qui contiennent un voisin d'une cellule murée sont à réévaluer
+            int first = (w << 6) + Long.numberOfTrailingZeros(changed);
+            int last = (w << 6) + 63 - Long.numberOfLeadingZeros(changed);
+            markDirty(worklist, dirty, words, first - 1, last + 1);
+            markDirty(worklist, dirty, words, first - cols, last - cols);
+            markDirty(worklist, dirty, words, first + cols, last + cols);
+        }
+
+        BitGrid walls = maze.toBitGrid().copy();
+        for (int w = 0; w < words; w++) {
+            for (long word = removed[w]; word != 0; word &= word - 1) {
+                walls.setWall((w << 6) + Long.numberOfTrailingZeros(word), true);
+            }
+        }
+        this.filled = new Maze(walls, maze.getStart(), maze.getEnd());
+        this.eliminatedCells = eliminated;
+    }
+
+    /**
+     * Ajoute à la liste les mots couvrant les cellules {@code from} à {@code to} qui n'y sont pas déjà.
+     */
+    private static void markDirty(IntStack worklist, long[] dirty, int words, int from, int to) {
+        int last = Math.min(words - 1, Math.floorDiv(to, 64));
+        for (int n = Math.max(0, Math.floorDiv(from, 64)); n <= last; n++) {
+            if ((dirty[n >>> 6] & (1L << n)) == 0) {
+                dirty[n >>> 6] |= 1L << n;
+                worklist.push(n);
+            }
+        }
+    }
+
+    /**
+     * Retourne le labyrinthe dont les impasses ont été murées, sous forme compacte.
+     * Ses cellules ont les mêmes indices que celles du labyrinthe d'origine.
+     *
+     * @return Le labyrinthe rempli.
+     */
+    public Maze getFilledMaze() {
+        return filled;
+    }
+
+    /**
+     * Retourne le nombre de cellules libres murées par le remplissage.
+     *
+     * @return Le nombre de cellules éliminées.
+     */
+    public int getEliminatedCells() {
+        return eliminatedCells;
+    }
+}
@@ -0,0 +1,156 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Résolution par remplissage des impasses ({@link DeadEndFiller}) suivi, si nécessaire, d'une recherche.
+ * <p>
+ * Si, après remplissage, il ne reste qu'un couloir du départ à l'arrivée (cas des labyrinthes
+ * parfaits), le chemin est lu en suivant ce couloir, sans aucune recherche. Sinon, le labyrinthe
+ * rempli est confié au solveur délégué, qui n'explore plus que les cellules restantes.
+ */
+public class DeadEndFillingSolver implements Solver {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    /**
+     * Résultat indiquant, en plus, le nombre de cellules éliminées par le remplissage.
+     */
+    public static class Result extends SolverResult {
+        private final int eliminatedCells;
+
+        Result(Maze maze, SolverResult result, int eliminatedCells) {
+            super(maze, result.getStatus(), result.getPath(), result.getSteps(), result.getPeakFrontier());
+            this.eliminatedCells = eliminatedCells;
+        }
+
+        /**
+         * Retourne le nombre de cellules libres murées par le remplissage.
+         *
+         * @return Le nombre de cellules éliminées.
+         */
+        public int getEliminatedCells() {
+            return eliminatedCells;
+        }
+
+        @Override
+        public String getDetail() {
+            return " (" + eliminatedCells + " cellules éliminées)";
+        }
+    }
+
+    private final Solver delegate;
+
+    /**
+     * Construit un solveur qui confie les labyrinthes à boucles à {@link FlatBFSSolver}.
+     */
+    public DeadEndFillingSolver() {
+        this(new FlatBFSSolver());
+    }
+
+    /**
+     * Construit un solveur qui confie les labyrinthes à boucles au solveur donné.
+     *
+     * @param delegate Le solveur appliqué au labyrinthe rempli.
+     */
+    public DeadEndFillingSolver(Solver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return "Remplissage des impasses";
+    }
+
+    @Override
+    public String getCacheKey() {
+        return getName() + "/" + delegate.getCacheKey();
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        SolverCapabilities capabilities = delegate.getCapabilities();
+        return new SolverCapabilities(capabilities.optimal(), capabilities.memory(), capabilities.parallel(), false);
+    }
+
+    /**
+     * Remplit les impasses du labyrinthe puis lit ou cherche le chemin.
+     * <p>
+     * Le remplissage est limité par l'échéance et le jeton du budget, qui est ensuite transmis au solveur
+     * délégué.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un {@link Result} dont le chemin porte sur le labyrinthe d'origine. Le nombre d'étapes est
+     *         le nombre de cellules suivies, ou celui du solveur délégué.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            // Départ et arrivée dans deux composantes différentes
+            return new Result(maze, SolverResult.notFound(maze, 0, 0), 0);
+        }
+        DeadEndFiller filler;
+        try {
+            filler = new DeadEndFiller(maze, budget);
+        } catch (BuildInterruptedException e) {
+            return new Result(maze, SolverResult.stopped(maze, budget.stopReason(0), 0, 0), 0);
+        }
+        Maze filled = filler.getFilledMaze();
+        if (budget.isExhaustedNow(0)) {
+            return new Result(maze, SolverResult.stopped(filled, budget.stopReason(0), 0, 0), filler.getEliminatedCells());
+        }
+
+        int[] corridor = followCorridor(filled);
+        SolverResult result;
+        if (corridor == null) {
+            result = delegate.solve(filled, budget);
+        } else if (corridor.length > budget.getMaxSteps()) {
+            // Chaque cellule suivie compte pour une étape
+            result = SolverResult.stopped(filled, budget.stopReason(corridor.length), budget.getMaxSteps(), 1);
+        } else {
+            result = SolverResult.found(filled, corridor, corridor.length, 1);
+        }
+        return new Result(maze, result, filler.getEliminatedCells());
+    }
+
+    /**
+     * Suit le labyrinthe rempli depuis le départ tant que chaque cellule n'a qu'une continuation.
+     *
+     * @return Le chemin du départ à l'arrivée inclus, ou {@code null} si une bifurcation ou une impasse
+     *         est rencontrée avant l'arrivée.
+     */
+    private static int[] followCorridor(Maze maze) {
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+
+        IntStack path = new IntStack(1024);
+        int previous = -1;
+        int current = start;
+        path.push(current);
+        while (current != end) {
+            int x = current / cols;
+            int y = current - x * cols;
+            int next = -1;
+            for (int[] dir : DIRECTIONS) {
+                int nx = x + dir[0];
+                int ny = y + dir[1];
+                int neighbor = nx * cols + ny;
+                if (neighbor == previous || maze.isWall(nx, ny)) {
+                    continue;
+                }
+                if (next != -1) {
+                    return null; // Bifurcation : une boucle subsiste
+                }
+                next = neighbor;
+            }
+            if (next == -1) {
+                return null; // Départ isolé : la recherche conclura à l'absence de chemin
+            }
+            previous = current;
+            current = next;
+            path.push(current);
+        }
+        return path.toArray();
+    }
+}
@@ -0,0 +1,332 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parcours en largeur à direction optimisée (« top-down / bottom-up »).
+ * <p>
+ * Tant que la frontière est petite, chaque niveau est développé de façon classique (descendante) :
+ * les voisins libres et non visités des cellules de la frontière forment le niveau suivant.
+ * Quand la frontière devient grande par rapport aux cellules restant à visiter, ce qui arrive dans
+ * les salles de {@code RoomGenerator} ou les labyrinthes tressés, le niveau est calculé de façon
+ * ascendante : pour chaque cellule libre non visitée, on se demande si un de ses voisins est dans la
+ * frontière. Ce balayage travaille sur des ensembles de bits, 64 cellules à la fois : les voisins
+ * gauche et droit sont des décalages d'un bit, les voisins haut et bas des décalages de
+ * {@code colonnes} bits.
+ * <p>
+ * Le résultat indique la direction utilisée à chaque niveau.
+ */
+public class DirectionOptimizingBFSSolver implements Solver {
+    private static final int NO_PARENT = -1;
+
+    /**
+     * Passage en ascendant quand la frontière grandit et que {@code frontière * ALPHA > cellules restantes}.
+     */
+    private static final int ALPHA = 14;
+
+    /**
+     * Retour en descendant quand la frontière diminue et que {@code frontière * BETA < cellules libres}.
+     * Exiger une frontière croissante puis décroissante évite d'alterner à chaque niveau en fin de parcours.
+     */
+    private static final int BETA = 24;
+
+    /**
+     * Direction de développement d'un niveau.
+     */
+    public enum Direction {
+        /** Depuis la frontière vers ses voisins. */
+        TOP_DOWN,
+        /** Depuis les cellules non visitées vers la frontière, par balayage de bits. */
+        BOTTOM_UP
+    }
+
+    /**
+     * Résultat complété par la direction utilisée à chaque niveau.
+     */
+    public static class Result extends SolverResult {
+        private final List<Direction> levelDirections;
+
+        Result(Maze maze, int[] path, int steps, int peakFrontier, List<Direction> levelDirections) {
+            super(maze, path, steps, peakFrontier);
+            this.levelDirections = Collections.unmodifiableList(levelDirections);
+        }
+
+        Result(SolverResult stopped, List<Direction> levelDirections) {
+            super(stopped.getMaze(), stopped.getStatus(), stopped.getPath(), stopped.getSteps(), stopped.getPeakFrontier());
+            this.levelDirections = Collections.unmodifiableList(levelDirections);
+        }
+
+        /**
+         * Retourne la direction utilisée pour chaque niveau développé, dans l'ordre.
+         *
+         * @return La liste des directions, une par niveau.
+         */
+        public List<Direction> getLevelDirections() {
+            return levelDirections;
+        }
+
+        /**
+         * Retourne le nombre de niveaux développés dans la direction donnée.
+         *
+         * @param direction La direction à compter.
+         * @return Le nombre de niveaux concernés.
+         */
+        public int countLevels(Direction direction) {
+            return Collections.frequency(levelDirections, direction);
+        }
+
+        @Override
+        public String getDetail() {
+            return " (" + countLevels(Direction.TOP_DOWN) + " niveaux descendants, "
+                    + countLevels(Direction.BOTTOM_UP) + " ascendants)";
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "BFS direction optimisée";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe en alternant développement descendant et balayage ascendant.
+     *
+     * @param maze Le labyrinthe à résoudre.
+     * @return Un Result contenant le chemin trouvé, le nombre de cellules de la frontière développées
+     *         (arrivée comprise), la taille maximale d'un niveau et la direction de chaque niveau.
+     */
+    @Override
+    public Result solve(Maze maze) {
+        return solve(maze, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Résout le labyrinthe comme {@link #solve(Maze)}, dans les limites du budget donné. Le budget est
+     * vérifié une fois par niveau : un niveau n'est développé que s'il tient entièrement dans le nombre
+     * d'étapes restant.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un Result comme {@link #solve(Maze)}, ou partiel si le budget est épuisé.
+     */
+    @Override
+    public Result solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return new Result(maze, new int[0], 0, 0, new ArrayList<>()); // Départ et arrivée dans deux composantes différentes
+        }
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int cells = rows * cols;
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+        List<Direction> directions = new ArrayList<>();
+
+        if (start == end) {
+            return new Result(maze, new int[]{start}, 1, 1, directions);
+        }
+
+        // Ensembles de bits : cellules libres, visitées, et masques des colonnes de bord
+        long[] open = CellBits.openCells(maze);
+        int words = open.length;
+        long[] notFirstCol = CellBits.columnMask(rows, cols, true);    // Cellules ayant un voisin à gauche
+        long[] notLastCol = CellBits.columnMask(rows, cols, false);    // Cellules ayant un voisin à droite
+        long[] visited = new long[words];
+        long[] frontierBits = new long[words];
+        long[] nextBits = new long[words];
+
+        int[] parent = new int[cells];
+        Arrays.fill(parent, NO_PARENT);
+        int[] frontier = new int[cells];
+        int[] next = new int[cells];
+
+        int openCount = 0;
+        for (long word : open) {
+            openCount += Long.bitCount(word);
+        }
+        int remaining = openCount - 1;   // Cellules libres non encore visitées
+        parent[start] = start;
+        visited[start >>> 6] |= 1L << start;
+        frontier[0] = start;
+        int frontierSize = 1;
+        int previousSize = 0;
+        boolean bottomUp = false;        // Représentation courante : liste (descendant) ou bits (ascendant)
+        int[] frontierRange = new int[2];  // Premier et dernier mot non nuls de frontierBits
+        int[] nextRange = {0, words - 1};  // Mots de nextBits pouvant encore contenir des bits
+        int steps = 0;
+        int peakFrontier = 1;
+
+        while (frontierSize > 0) {
+            // Choix de la direction du niveau, avec conversion de la frontière si elle change
+            if (!bottomUp && frontierSize > previousSize && (long) frontierSize * ALPHA > remaining) {
+                bottomUp = true;
+                Arrays.fill(frontierBits, 0L);
+                frontierRange[0] = words;
+                frontierRange[1] = -1;
+                for (int i = 0; i < frontierSize; i++) {
+                    int w = frontier[i] >>> 6;
+                    frontierBits[w] |= 1L << frontier[i];
+                    frontierRange[0] = Math.min(frontierRange[0], w);
+                    frontierRange[1] = Math.max(frontierRange[1], w);
+                }
+            } else if (bottomUp && frontierSize < previousSize && (long) frontierSize * BETA < openCount) {
+                bottomUp = false;
+                frontierSize = toList(frontierBits, frontier);
+            }
+            int levelSteps = steps + frontierSize - 1; // Étapes effectuées avant la dernière cellule du niveau
+            if (budget.isExhaustedNow(levelSteps)) {
+                return new Result(SolverResult.stopped(maze, budget.stopReason(levelSteps), steps, peakFrontier), directions);
+            }
+            directions.add(bottomUp ? Direction.BOTTOM_UP : Direction.TOP_DOWN);
+            steps += frontierSize;
+
+            int nextSize;
+            if (bottomUp) {
+                Arrays.fill(nextBits, nextRange[0], nextRange[1] + 1, 0L);
+                nextSize = stepBottomUp(open, visited, frontierBits, frontierRange, nextBits, nextRange,
+                        notFirstCol, notLastCol, parent, cols);
+                long[] swap = frontierBits;
+                frontierBits = nextBits;
+                nextBits = swap;
+                int[] swapRange = frontierRange;
+                frontierRange = nextRange;
+                nextRange = swapRange;
+            } else {
+                nextSize = stepTopDown(maze, visited, parent, frontier, frontierSize, next, cols);
+                int[] swap = frontier;
+                frontier = next;
+                next = swap;
+            }
+            previousSize = frontierSize;
+            frontierSize = nextSize;
+            peakFrontier = Math.max(peakFrontier, nextSize);
+            remaining -= nextSize;
+
+            if (parent[end] != NO_PARENT) {
+                return new Result(maze, SolverResult.pathFromParents(parent, start, end), steps + 1, peakFrontier, directions);
+            }
+        }
+
+        // Si la frontière est vide et qu'on n'a pas atteint la fin, il n'y a pas de solution.
+        return new Result(maze, new int[0], steps, peakFrontier, directions);
+    }
+
+    /**
+     * Développe un niveau de façon descendante.
+     *
+     * @return La taille du niveau suivant, rangé dans {@code next}.
+     */
+    private static int stepTopDown(Maze maze, long[] visited, int[] parent, int[] frontier, int frontierSize,
+                                   int[] next, int cols) {
+        int nextSize = 0;
+        for (int i = 0; i < frontierSize; i++) {
+            int current = frontier[i];
+            int x = current / cols;
+            int y = current - x * cols;
+            // Même ordre que BFSSolver : haut, bas, gauche, droite
+            nextSize = visit(maze, visited, parent, next, nextSize, current, x - 1, y, cols);
+            nextSize = visit(maze, visited, parent, next, nextSize, current, x + 1, y, cols);
+            nextSize = visit(maze, visited, parent, next, nextSize, current, x, y - 1, cols);
+            nextSize = visit(maze, visited, parent, next, nextSize, current, x, y + 1, cols);
+        }
+        return nextSize;
+    }
+
+    /**
+     * Ajoute la cellule (nx, ny) au niveau suivant si elle est libre et pas encore visitée.
+     *
+     * @return La nouvelle taille du niveau suivant.
+     */
+    private static int visit(Maze maze, long[] visited, int[] parent, int[] next, int nextSize,
+                             int current, int nx, int ny, int cols) {
+        if (maze.isWall(nx, ny)) {
+            return nextSize;
+        }
+        int cell = nx * cols + ny;
+        long bit = 1L << cell;
+        if ((visited[cell >>> 6] & bit) != 0) {
+            return nextSize;
+        }
+        visited[cell >>> 6] |= bit;
+        parent[cell] = current;
+        next[nextSize] = cell;
+        return nextSize + 1;
+    }
+
+    /**
+     * Calcule un niveau de façon ascendante : une cellule libre et non visitée entre dans le niveau
+     * suivant si un de ses quatre voisins est dans la frontière. Son parent est le premier de ces
+     * voisins dans l'ordre haut, bas, gauche, droite. Seuls les mots à moins d'une ligne des mots
+     * non nuls de la frontière sont balayés ; {@code nextBits} doit être nul sur cette fenêtre.
+     *
+     * @return La taille du niveau suivant, rangé dans {@code nextBits}, dont les premier et dernier
+     *         mots non nuls sont écrits dans {@code nextRange}.
+     */
+    private static int stepBottomUp(long[] open, long[] visited, long[] frontierBits, int[] frontierRange,
+                                    long[] nextBits, int[] nextRange,
+                                    long[] notFirstCol, long[] notLastCol, int[] parent, int cols) {
+        int reach = (cols >>> 6) + 1;   // Un voisin vertical est au plus à ce nombre de mots
+        int from = Math.max(0, frontierRange[0] - reach);
+        int to = Math.min(open.length - 1, frontierRange[1] + reach);
+        nextRange[0] = open.length;
+        nextRange[1] = -1;
+        int nextSize = 0;
+        for (int w = from; w <= to; w++) {
+            long candidates = open[w] & ~visited[w];
+            long found = 0;
+            if (candidates != 0) {
+                long neighbours = CellBits.shiftedWord(frontierBits, w, -cols)
+                        | CellBits.shiftedWord(frontierBits, w, cols)
+                        | (CellBits.shiftedWord(frontierBits, w, -1) & notFirstCol[w])
+                        | (CellBits.shiftedWord(frontierBits, w, 1) & notLastCol[w]);
+                found = candidates & neighbours;
+            }
+            nextBits[w] = found;
+            if (found == 0) {
+                continue;
+            }
+            visited[w] |= found;
+            nextSize += Long.bitCount(found);
+            nextRange[0] = Math.min(nextRange[0], w);
+            nextRange[1] = w;
+
+            // Choix du parent de chaque cellule découverte
+            for (long remainingBits = found; remainingBits != 0; remainingBits &= remainingBits - 1) {
+                int cell = (w << 6) + Long.numberOfTrailingZeros(remainingBits);
+                if (CellBits.isSet(frontierBits, cell - cols)) {
+                    parent[cell] = cell - cols;
+                } else if (CellBits.isSet(frontierBits, cell + cols)) {
+                    parent[cell] = cell + cols;
+                } else if ((notFirstCol[w] & (1L << cell)) != 0 && CellBits.isSet(frontierBits, cell - 1)) {
+                    parent[cell] = cell - 1;
+                } else {
+                    parent[cell] = cell + 1;
+                }
+            }
+        }
+        return nextSize;
+    }
+
+    /**
+     * Convertit un ensemble de bits en liste d'indices croissants.
+     *
+     * @return Le nombre d'indices écrits dans {@code list}.
+     */
+    private static int toList(long[] bits, int[] list) {
+        int size = 0;
+        for (int w = 0; w < bits.length; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                list[size++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,113 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+/**
+ * Variante du parcours en largeur (BFS) travaillant sur des indices de cellules aplatis
+ * ({@code ligne * colonnes + colonne}) au lieu d'objets {@link Point}.
+ * La file et les parents sont des {@code int[]} pris dans le {@link SolverWorkspace} du thread,
+ * ce qui évite toute allocation par cellule explorée et, d'une résolution à l'autre, toute
+ * allocation ou effacement de tableau.
+ * L'ordre d'exploration est identique à celui de {@link BFSSolver} : le chemin trouvé et le nombre
+ * d'étapes sont donc les mêmes.
+ */
+public class FlatBFSSolver implements Solver {
+    private static final int VISITED = 0;   // Couche de marques des cellules découvertes
+    private static final int PARENT = 0;    // Tableaux de l'espace de travail
+    private static final int QUEUE = 1;
+
+    @Override
+    public String getName() {
+        return "BFS (plat)";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe en utilisant un parcours en largeur sur tableaux plats.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un objet SolverResult contenant le chemin trouvé, le nombre d'étapes effectuées
+     *         et la taille maximale de la file.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            // Chaque cellule n'est enfilée qu'une seule fois : une file d'au moins rows * cols cases
+            // ne peut donc jamais déborder.
+            int[] queue = workspace.ints(QUEUE);
+            int[] parent = workspace.ints(PARENT);
+            int head = 0;
+            int size = 1;
+            int steps = 0;
+            int peakFrontier = 1;
+
+            queue[0] = start;
+            parent[start] = start;
+            workspace.mark(VISITED, start);
+
+            while (size > 0) {
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                int current = queue[head++];
+                size--;
+                steps++;
+
+                if (current == end) {
+                    return SolverResult.found(maze, SolverResult.pathFromParents(parent, start, end), steps, peakFrontier);
+                }
+
+                int x = current / cols;
+                int y = current - x * cols;
+
+                // Même ordre que BFSSolver.DIRECTIONS : haut, bas, gauche, droite.
+                if (x > 0) {
+                    size = visit(maze, workspace, parent, queue, head, size, current, current - cols, x - 1, y);
+                }
+                if (x < rows - 1) {
+                    size = visit(maze, workspace, parent, queue, head, size, current, current + cols, x + 1, y);
+                }
+                if (y > 0) {
+                    size = visit(maze, workspace, parent, queue, head, size, current, current - 1, x, y - 1);
+                }
+                if (y < cols - 1) {
+                    size = visit(maze, workspace, parent, queue, head, size, current, current + 1, x, y + 1);
+                }
+                peakFrontier = Math.max(peakFrontier, size);
+            }
+
+            // Si la file est vide et qu'on n'a pas atteint la fin, il n'y a pas de solution.
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Enfile le voisin s'il est libre et pas encore découvert.
+     *
+     * @return La nouvelle taille de la file.
+     */
+    private static int visit(Maze maze, SolverWorkspace workspace, int[] parent, int[] queue, int head, int size,
+                             int current, int next, int nx, int ny) {
+        if (!workspace.isMarked(VISITED, next) && !maze.isWall(nx, ny)) {
+            workspace.mark(VISITED, next);
+            parent[next] = current;
+            queue[head + size] = next;
+            return size + 1;
+        }
+        return size;
+    }
+}
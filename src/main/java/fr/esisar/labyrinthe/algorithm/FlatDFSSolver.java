@@ -0,0 +1,206 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+/**
+ * Variante de la recherche en profondeur (DFS) travaillant sur des indices de cellules aplatis
+ * ({@code ligne * colonnes + colonne}) au lieu d'objets {@link Point}.
+ * La pile est une {@link IntStack} (tableau {@code int[]} extensible, sans le verrou de
+ * {@link java.util.Stack}) et les parents sont stockés dans un {@code int[]}, tous deux pris dans le
+ * {@link SolverWorkspace} du thread et réutilisés d'une résolution à l'autre.
+ * <p>
+ * Deux ordres de parcours sont proposés, voir {@link Order} ; l'ordre récursif est enregistré
+ * sous la forme de {@link Recursive}.
+ */
+public class FlatDFSSolver implements Solver {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Même ordre que DFSSolver
+    private static final int VISITED = 0;          // Couche de marques des cellules découvertes
+    private static final int PARENT = 0;           // Tableaux de l'espace de travail
+    private static final int NEXT_DIRECTION = 1;
+
+    /**
+     * Ordre de parcours de la recherche en profondeur.
+     */
+    public enum Order {
+        /**
+         * Tous les voisins sont empilés d'un coup, comme dans {@link DFSSolver} : le chemin trouvé et
+         * le nombre d'étapes sont identiques.
+         */
+        PUSH_ALL,
+        /**
+         * Ordre d'une DFS récursive : un seul voisin est exploré à la fois, et chaque niveau de la pile
+         * retient la prochaine direction à essayer. La pile contient alors exactement le chemin courant.
+         */
+        RECURSIVE
+    }
+
+    /**
+     * Variante enregistrée dans l'ordre {@link Order#RECURSIVE}, instanciable sans argument par
+     * {@link SolverRegistry}.
+     */
+    public static class Recursive extends FlatDFSSolver {
+        public Recursive() {
+            super(Order.RECURSIVE);
+        }
+    }
+
+    private final Order order;
+
+    /**
+     * Construit un solveur dans l'ordre {@link Order#PUSH_ALL}, identique à {@link DFSSolver}.
+     */
+    public FlatDFSSolver() {
+        this(Order.PUSH_ALL);
+    }
+
+    /**
+     * Construit un solveur dans l'ordre de parcours donné.
+     *
+     * @param order L'ordre de parcours.
+     */
+    public FlatDFSSolver(Order order) {
+        this.order = order;
+    }
+
+    @Override
+    public String getName() {
+        return order == Order.RECURSIVE ? "DFS (récursif)" : "DFS (plat)";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        // Même dans l'ordre récursif, où la pile ne contient que le chemin courant, les parents et les
+        // directions restent dans des tableaux d'une case par cellule.
+        return SolverCapabilities.sequential(false, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe en utilisant une recherche en profondeur sur tableaux plats.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un objet SolverResult contenant le chemin trouvé, le nombre de cellules explorées
+     *         et la taille maximale de la pile.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        return order == Order.RECURSIVE ? solveRecursive(maze, budget) : solvePushAll(maze, budget);
+    }
+
+    /**
+     * Parcours « tous les voisins empilés » : une cellule est marquée dès qu'elle est empilée.
+     */
+    private static SolverResult solvePushAll(Maze maze, SolverBudget budget) {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            IntStack stack = workspace.stack();
+            int[] parent = workspace.ints(PARENT);
+            int steps = 0;
+            int peakFrontier = 1;
+
+            stack.push(start);
+            parent[start] = start;
+            workspace.mark(VISITED, start);
+
+            while (!stack.isEmpty()) {
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                int current = stack.pop();
+                steps++;
+
+                if (current == end) {
+                    return SolverResult.found(maze, SolverResult.pathFromParents(parent, start, end), steps, peakFrontier);
+                }
+
+                int x = current / cols;
+                int y = current - x * cols;
+                for (int[] dir : DIRECTIONS) {
+                    int nx = x + dir[0];
+                    int ny = y + dir[1];
+                    if (maze.isWall(nx, ny)) {
+                        continue;
+                    }
+                    int next = nx * cols + ny;
+                    if (!workspace.isMarked(VISITED, next)) {
+                        workspace.mark(VISITED, next);
+                        parent[next] = current;
+                        stack.push(next);
+                    }
+                }
+                peakFrontier = Math.max(peakFrontier, stack.size());
+            }
+
+            // Si la pile est vide et qu'on n'a pas atteint la fin, il n'y a pas de solution.
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Parcours dans l'ordre récursif : le sommet de la pile avance d'un voisin à la fois et n'est
+     * dépilé que lorsque toutes ses directions ont été essayées.
+     */
+    private static SolverResult solveRecursive(Maze maze, SolverBudget budget) {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            IntStack stack = workspace.stack();
+            // Prochaine direction à essayer, valable pour les cellules marquées.
+            int[] nextDirection = workspace.ints(NEXT_DIRECTION);
+            int steps = 1;
+            int peakFrontier = 1;
+
+            stack.push(start);
+            nextDirection[start] = 0;
+            workspace.mark(VISITED, start);
+
+            while (!stack.isEmpty()) {
+                int current = stack.peek();
+                if (current == end) {
+                    return SolverResult.found(maze, stack.toArray(), steps, peakFrontier);
+                }
+
+                int d = nextDirection[current];
+                if (d == DIRECTIONS.length) {
+                    stack.pop(); // Toutes les directions ont été essayées : retour en arrière
+                    continue;
+                }
+                nextDirection[current]++;
+
+                int x = current / cols;
+                int y = current - x * cols;
+                int nx = x + DIRECTIONS[d][0];
+                int ny = y + DIRECTIONS[d][1];
+                if (maze.isWall(nx, ny)) {
+                    continue;
+                }
+                int next = nx * cols + ny;
+                if (!workspace.isMarked(VISITED, next)) {
+                    // Vérifié à chaque empilement : les retours en arrière sont bornés par les empilements
+                    if (budget.isExhausted(steps)) {
+                        return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                    }
+                    workspace.mark(VISITED, next);
+                    nextDirection[next] = 0;
+                    stack.push(next);
+                    steps++;
+                    peakFrontier = Math.max(peakFrontier, stack.size());
+                }
+            }
+
+            // Si la pile est vide et qu'on n'a pas atteint la fin, il n'y a pas de solution.
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Recherche hiérarchique HPA* sur le graphe abstrait des blocs ({@link ClusterGraph}).
+ * <p>
+ * Le départ et l'arrivée sont reliés temporairement aux nœuds de leur bloc par un parcours limité à
+ * ce bloc, puis l'algorithme A* est appliqué au graphe abstrait. Chaque arête du chemin abstrait est
+ * enfin raffinée en cellules : une transition relie deux cellules voisines, une arête interne est
+ * recalculée par un parcours limité à son bloc. Seuls les blocs traversés sont donc explorés.
+ * <p>
+ * Le graphe abstrait est construit une fois par labyrinthe et par taille de bloc. Les chemins ne
+ * passant que par les transitions retenues, le résultat est quasi optimal, sans garantie.
+ * Le nombre d'étapes compte les nœuds abstraits développés.
+ */
+public class HPAStarSolver implements Solver {
+    private static final int KNOWN = 0;         // Couche des nœuds dont gScore est renseigné
+    private static final int CLOSED = 1;        // Couche des nœuds déjà développés
+    private static final int G_SCORE = 0;       // Tableaux de l'espace de travail, indexés par nœud
+    private static final int PARENT = 1;
+
+    /**
+     * Résultat indiquant, en plus, le coût de l'abstraction et le temps de la requête.
+     */
+    public static class Result extends SolverResult {
+        private final ClusterGraph graph;
+        private final long queryNanos;
+
+        Result(SolverResult result, ClusterGraph graph, long queryNanos) {
+            super(result.getMaze(), result.getStatus(), result.getPath(), result.getSteps(), result.getPeakFrontier());
+            this.graph = graph;
+            this.queryNanos = queryNanos;
+        }
+
+        /**
+         * Retourne le graphe abstrait utilisé, qui expose son temps de construction et sa mémoire.
+         *
+         * @return Le graphe abstrait.
+         */
+        public ClusterGraph getGraph() {
+            return graph;
+        }
+
+        /**
+         * Retourne le temps de la requête, construction du graphe abstrait exclue.
+         *
+         * @return Le temps de la requête, en nanosecondes.
+         */
+        public long getQueryNanos() {
+            return queryNanos;
+        }
+
+        @Override
+        public String getDetail() {
+            return String.format(" (blocs %dx%d, %d nœuds abstraits, construction %.1f ms, requête %.2f ms)",
+                    graph.getClusterSize(), graph.getClusterSize(), graph.getNodeCount(),
+                    graph.getBuildNanos() / 1e6, queryNanos / 1e6);
+        }
+    }
+
+    private final int clusterSize;
+
+    /**
+     * Construit un solveur utilisant des blocs de {@link ClusterGraph#DEFAULT_CLUSTER_SIZE} cellules de côté.
+     */
+    public HPAStarSolver() {
+        this(ClusterGraph.DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Construit un solveur utilisant des blocs de la taille donnée. Des blocs plus grands donnent un
+     * graphe abstrait plus petit mais des raffinements plus coûteux.
+     *
+     * @param clusterSize Le côté des blocs, en cellules.
+     * @throws IllegalArgumentException si la taille des blocs est inférieure à 2.
+     */
+    public HPAStarSolver(int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Taille de bloc invalide : " + clusterSize);
+        }
+        this.clusterSize = clusterSize;
+    }
+
+    @Override
+    public String getName() {
+        return "HPA*";
+    }
+
+    @Override
+    public String getCacheKey() {
+        return getName() + "/" + clusterSize;
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        // Construction du graphe abstrait en parallèle, requête séquentielle
+        return new SolverCapabilities(false, SolverCapabilities.MemoryClass.FLAT, true, false);
+    }
+
+    /**
+     * Résout le labyrinthe par recherche hiérarchique.
+     * <p>
+     * La construction du graphe abstrait, si elle est nécessaire, est limitée par l'échéance et le jeton
+     * du budget ; la recherche abstraite l'est en outre par le nombre d'étapes.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un {@link Result} contenant le chemin trouvé, le nombre de nœuds abstraits développés et
+     *         la taille maximale de la file, ou un résultat partiel sans étape si la construction du
+     *         graphe abstrait a été interrompue.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+        if (maze.isWall(maze.getStart().x(), maze.getStart().y()) || maze.isWall(maze.getEnd().x(), maze.getEnd().y())) {
+            return SolverResult.notFound(maze, 0, 0); // Départ ou arrivée sur un mur
+        }
+        ClusterGraph graph = ClusterGraph.of(maze, clusterSize, budget).orElse(null);
+        if (graph == null) {
+            return SolverResult.stopped(maze, budget.stopReason(0), 0, 0); // Construction du graphe interrompue
+        }
+        long startTime = System.nanoTime();
+        SolverResult result = start == end
+                ? SolverResult.found(maze, new int[]{start}, 1, 1)
+                : search(maze, graph, start, end, budget);
+        return new Result(result, graph, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Recherche A* sur le graphe abstrait complété du départ et de l'arrivée, puis raffinement.
+     */
+    private static SolverResult search(Maze maze, ClusterGraph graph, int start, int end, SolverBudget budget) {
+        int cols = maze.getCols();
+        int startCluster = graph.clusterOf(start);
+        int endCluster = graph.clusterOf(end);
+        // Insertion temporaire : distances du départ et de l'arrivée aux nœuds de leur bloc
+        int[] fromStart = graph.distancesInCluster(start, startCluster == endCluster ? end : -1);
+        int[] toEnd = graph.distancesInCluster(end, -1);
+        int startFirst = graph.firstNode(startCluster);
+        int endFirst = graph.firstNode(endCluster);
+        int startNode = graph.getNodeCount();
+        int endNode = startNode + 1;
+
+        int[] waypoints;
+        int length;
+        int steps = 0;
+        int peakFrontier = 1;
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(graph.getNodeCount() + 2)) {
+            int[] gScore = workspace.ints(G_SCORE);
+            int[] parent = workspace.ints(PARENT);
+            BucketQueue openSet = workspace.bucketQueue();
+
+            gScore[startNode] = 0;
+            parent[startNode] = startNode;
+            workspace.mark(KNOWN, startNode);
+            openSet.push(startNode, heuristic(start, end, cols));
+
+            while (!openSet.isEmpty()) {
+                int current = openSet.pop();
+                if (workspace.isMarked(CLOSED, current)) {
+                    continue; // Entrée périmée
+                }
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                workspace.mark(CLOSED, current);
+                steps++;
+                if (current == endNode) {
+                    break;
+                }
+
+                if (current == startNode) {
+                    for (int i = 0; i < fromStart.length - 1; i++) {
+                        if (fromStart[i] >= 0) {
+                            relax(workspace, graph, current, startFirst + i, fromStart[i], end, cols);
+                        }
+                    }
+                    if (fromStart[fromStart.length - 1] >= 0) {
+                        relax(workspace, graph, current, endNode, fromStart[fromStart.length - 1], end, cols);
+                    }
+                } else {
+                    for (int edge = graph.edgesFrom(current); edge < graph.edgesEnd(current); edge++) {
+                        relax(workspace, graph, current, graph.target(edge), graph.weight(edge), end, cols);
+                    }
+                    int local = current - endFirst;
+                    if (local >= 0 && local < toEnd.length - 1 && toEnd[local] >= 0) {
+                        relax(workspace, graph, current, endNode, toEnd[local], end, cols);
+                    }
+                }
+                peakFrontier = Math.max(peakFrontier, openSet.size());
+            }
+
+            if (!workspace.isMarked(CLOSED, endNode)) {
+                // Si aucune solution n'est trouvée, retourner le nombre d'étapes effectuées
+                return SolverResult.notFound(maze, steps, peakFrontier);
+            }
+            length = gScore[endNode];
+            IntStack reversed = new IntStack(64);
+            for (int node = endNode; node != startNode; node = parent[node]) {
+                reversed.push(node == endNode ? end : graph.nodeCell(node));
+            }
+            reversed.push(start);
+            waypoints = new int[reversed.size()];
+            for (int i = 0; i < waypoints.length; i++) {
+                waypoints[i] = reversed.get(waypoints.length - 1 - i);
+            }
+        }
+
+        // Raffinement : les parcours limités aux blocs réutilisent l'espace de travail, libéré ci-dessus
+        int[] path = new int[length + 1];
+        path[0] = start;
+        int at = 1;
+        for (int i = 1; i < waypoints.length; i++) {
+            int from = waypoints[i - 1];
+            int to = waypoints[i];
+            if (from == to) {
+                continue; // Départ ou arrivée confondu avec un nœud de son bloc
+            }
+            if (graph.clusterOf(from) != graph.clusterOf(to)) {
+                path[at++] = to; // Transition entre deux cellules voisines
+            } else {
+                at += graph.refine(from, to, path, at);
+            }
+        }
+        return SolverResult.found(maze, path, steps, peakFrontier);
+    }
+
+    /**
+     * Met à jour un nœud atteint depuis {@code current} par une arête de poids donné.
+     */
+    private static void relax(SolverWorkspace workspace, ClusterGraph graph, int current, int neighbor,
+                              int weight, int end, int cols) {
+        int[] gScore = workspace.ints(G_SCORE);
+        int tentativeGScore = gScore[current] + weight;
+        if (!workspace.isMarked(KNOWN, neighbor) || tentativeGScore < gScore[neighbor]) {
+            workspace.mark(KNOWN, neighbor);
+            gScore[neighbor] = tentativeGScore;
+            workspace.ints(PARENT)[neighbor] = current;
+            int cell = neighbor < graph.getNodeCount() ? graph.nodeCell(neighbor) : end;
+            workspace.bucketQueue().push(neighbor, tentativeGScore + heuristic(cell, end, cols));
+        }
+    }
+
+    /**
+     * Fonction heuristique (distance de Manhattan de la cellule à l'arrivée).
+     */
+    private static int heuristic(int cell, int end, int cols) {
+        return Math.abs(cell / cols - end / cols) + Math.abs(cell % cols - end % cols);
+    }
+}
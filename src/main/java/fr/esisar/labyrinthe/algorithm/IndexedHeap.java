@@ -0,0 +1,156 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Tas binaire indexé de cellules (entiers de 0 à {@code capacity - 1}) ordonnées par une clé {@code long}.
+ * <p>
+ * Contrairement à {@link BucketQueue}, la position de chaque cellule dans le tas est connue : la clé
+ * d'une cellule présente peut être diminuée ou augmentée et la cellule retirée en O(log n), sans
+ * entrée périmée. C'est ce qu'exigent les recherches incrémentales, dont les clés ne sont pas monotones.
+ */
+final class IndexedHeap {
+    private final int[] heap;       // Cellules, rangées en tas selon leur clé
+    private final int[] position;   // Position de chaque cellule dans le tas, -1 si absente
+    private final long[] keys;      // Clé de chaque cellule présente
+    private int size;
+
+    /**
+     * Crée un tas vide pouvant contenir les cellules de 0 à {@code capacity - 1}.
+     */
+    IndexedHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * @return {@code true} si la cellule est dans le tas.
+     */
+    boolean contains(int cell) {
+        return position[cell] >= 0;
+    }
+
+    /**
+     * Ajoute la cellule avec la clé donnée, ou change sa clé si elle est déjà présente.
+     */
+    void put(int cell, long key) {
+        int i = position[cell];
+        if (i < 0) {
+            i = size++;
+            heap[i] = cell;
+            position[cell] = i;
+            keys[cell] = key;
+            siftUp(i);
+        } else {
+            long old = keys[cell];
+            keys[cell] = key;
+            if (key < old) {
+                siftUp(i);
+            } else {
+                siftDown(i);
+            }
+        }
+    }
+
+    /**
+     * Retire la cellule si elle est présente.
+     */
+    void remove(int cell) {
+        int i = position[cell];
+        if (i < 0) {
+            return;
+        }
+        position[cell] = -1;
+        int last = heap[--size];
+        if (i < size) {
+            heap[i] = last;
+            position[last] = i;
+            siftUp(i);
+            siftDown(position[last]);
+        }
+    }
+
+    /**
+     * @return La cellule de plus petite clé.
+     * @throws NoSuchElementException si le tas est vide.
+     */
+    int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Tas vide");
+        }
+        return heap[0];
+    }
+
+    /**
+     * @return La plus petite clé, {@link Long#MAX_VALUE} si le tas est vide.
+     */
+    long peekKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[heap[0]];
+    }
+
+    /**
+     * @return La clé d'une cellule présente.
+     */
+    long key(int cell) {
+        return keys[cell];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Vide le tas.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        long key = keys[cell];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = cell;
+        position[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        long key = keys[cell];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] >= key) {
+                break;
+            }
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        position[cell] = i;
+    }
+}
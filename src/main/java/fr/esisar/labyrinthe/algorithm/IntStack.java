@@ -0,0 +1,51 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Pile d'entiers primitifs, sans synchronisation ni allocation par élément.
+ * Le tableau sous-jacent double de taille quand il est plein.
+ */
+final class IntStack {
+    private int[] items;
+    private int size;
+
+    IntStack(int initialCapacity) {
+        items = new int[Math.max(1, initialCapacity)];
+    }
+
+    void push(int item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+        }
+        items[size++] = item;
+    }
+
+    int pop() {
+        return items[--size];
+    }
+
+    int peek() {
+        return items[size - 1];
+    }
+
+    int get(int index) {
+        return items[index];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
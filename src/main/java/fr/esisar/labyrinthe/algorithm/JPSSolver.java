@@ -0,0 +1,223 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Recherche par points de saut (Jump Point Search) pour une grille à 4 voisins.
+ * <p>
+ * Parmi les chemins les plus courts équivalents, seuls les chemins « canoniques » sont explorés :
+ * les déplacements verticaux sont faits le plus tôt possible, et un déplacement horizontal ne
+ * tourne vers le haut ou le bas que si une case le force (le passage vertical équivalent, une colonne
+ * plus tôt, est bloqué). Ainsi :
+ * <ul>
+ *     <li>un saut horizontal avance tant qu'il ne rencontre ni l'arrivée, ni voisin forcé ;</li>
+ *     <li>un saut vertical s'arrête sur toute case d'où un saut horizontal trouverait un point de saut.</li>
+ * </ul>
+ * A* ne travaille alors que sur les points de saut, reliés par des segments droits dont le coût est
+ * leur longueur. Dans les grandes salles ouvertes, le nombre de cellules insérées dans la file de
+ * priorité chute de plusieurs ordres de grandeur par rapport à {@link AStarSolver}.
+ * <p>
+ * Comme {@link BucketAStarSolver}, les tableaux et la file proviennent du {@link SolverWorkspace} du thread.
+ */
+public class JPSSolver implements Solver {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Directions possibles : haut, bas, gauche, droite
+    private static final int NONE = -1;
+    private static final int KNOWN = 0;      // Couche des points de saut dont gScore est renseigné
+    private static final int CLOSED = 1;     // Couche des points de saut déjà développés
+    private static final int G_SCORE = 0;    // Tableaux de l'espace de travail
+    private static final int CAME_FROM = 1;
+
+    @Override
+    public String getName() {
+        return "JPS";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe en utilisant A* sur les points de saut.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un SolverResult contenant le chemin trouvé, le nombre de points de saut développés et la
+     *         taille maximale de la file.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+        int endX = maze.getEnd().x();
+        int endY = maze.getEnd().y();
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            int[] gScore = workspace.ints(G_SCORE);
+            int[] cameFrom = workspace.ints(CAME_FROM);   // Point de saut précédent sur le meilleur chemin connu
+            BucketQueue openSet = workspace.bucketQueue();
+            int steps = 0;
+            int peakFrontier = 1;
+
+            gScore[start] = 0;
+            cameFrom[start] = start;
+            workspace.mark(KNOWN, start);
+            openSet.push(start, Math.abs(maze.getStart().x() - endX) + Math.abs(maze.getStart().y() - endY));
+
+            while (!openSet.isEmpty()) {
+                int current = openSet.pop();
+                if (workspace.isMarked(CLOSED, current)) {
+                    continue; // Entrée périmée
+                }
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                workspace.mark(CLOSED, current);
+                steps++;
+
+                if (current == end) {
+                    return SolverResult.found(maze, reconstructPath(maze, cameFrom, gScore[end], start, end), steps, peakFrontier);
+                }
+
+                int x = current / cols;
+                int y = current - x * cols;
+                int px = cameFrom[current] / cols;
+                int py = cameFrom[current] % cols;
+                int dx = Integer.signum(x - px);
+                int dy = Integer.signum(y - py);
+
+                for (int[] dir : DIRECTIONS) {
+                    if (!isSuccessorDirection(maze, x, y, dx, dy, dir[0], dir[1])) {
+                        continue;
+                    }
+                    int jumpPoint = dir[0] != 0
+                            ? jumpVertical(maze, x, y, dir[0], endX, endY)
+                            : jumpHorizontal(maze, x, y, dir[1], endX, endY);
+                    if (jumpPoint == NONE || workspace.isMarked(CLOSED, jumpPoint)) {
+                        continue;
+                    }
+                    int jx = jumpPoint / cols;
+                    int jy = jumpPoint - jx * cols;
+                    int tentativeGScore = gScore[current] + Math.abs(jx - x) + Math.abs(jy - y);
+                    if (!workspace.isMarked(KNOWN, jumpPoint) || tentativeGScore < gScore[jumpPoint]) {
+                        workspace.mark(KNOWN, jumpPoint);
+                        gScore[jumpPoint] = tentativeGScore;
+                        cameFrom[jumpPoint] = current;
+                        openSet.push(jumpPoint, tentativeGScore + Math.abs(jx - endX) + Math.abs(jy - endY));
+                        peakFrontier = Math.max(peakFrontier, openSet.size());
+                    }
+                }
+            }
+
+            // Si aucune solution n'est trouvée, retourner le nombre d'étapes effectuées
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Indique si la direction (ndx, ndy) doit être explorée depuis la case (x, y), atteinte en se
+     * déplaçant selon (dx, dy) (les deux nuls pour le départ).
+     */
+    private static boolean isSuccessorDirection(Maze maze, int x, int y, int dx, int dy, int ndx, int ndy) {
+        if (dx == 0 && dy == 0) {
+            return true; // Départ : toutes les directions
+        }
+        if (ndx == -dx && ndy == -dy) {
+            return false; // Retour en arrière
+        }
+        if (dx != 0) {
+            return true; // Mouvement vertical : on continue et on peut tourner des deux côtés
+        }
+        if (ndy == dy) {
+            return true; // Mouvement horizontal : on continue
+        }
+        // Mouvement horizontal : on ne tourne que vers un voisin forcé
+        return isForced(maze, x, y, ndx, dy);
+    }
+
+    /**
+     * Une case voisine verticale (x + side, y) est forcée pour un déplacement horizontal de sens dy
+     * si elle est libre alors que la case qui la précède sur sa ligne, (x + side, y - dy), est un mur.
+     */
+    private static boolean isForced(Maze maze, int x, int y, int side, int dy) {
+        return !maze.isWall(x + side, y) && maze.isWall(x + side, y - dy);
+    }
+
+    /**
+     * Saute horizontalement depuis (x, y) dans le sens dy.
+     *
+     * @return L'indice du point de saut trouvé, ou {@link #NONE} si un mur est atteint avant.
+     */
+    private static int jumpHorizontal(Maze maze, int x, int y, int dy, int endX, int endY) {
+        int cols = maze.getCols();
+        while (true) {
+            y += dy;
+            if (maze.isWall(x, y)) {
+                return NONE;
+            }
+            if ((x == endX && y == endY) || isForced(maze, x, y, -1, dy) || isForced(maze, x, y, 1, dy)) {
+                return x * cols + y;
+            }
+        }
+    }
+
+    /**
+     * Saute verticalement depuis (x, y) dans le sens dx. Chaque case traversée est un point de saut
+     * si un saut horizontal depuis elle trouverait lui-même un point de saut.
+     *
+     * @return L'indice du point de saut trouvé, ou {@link #NONE} si un mur est atteint avant.
+     */
+    private static int jumpVertical(Maze maze, int x, int y, int dx, int endX, int endY) {
+        int cols = maze.getCols();
+        while (true) {
+            x += dx;
+            if (maze.isWall(x, y)) {
+                return NONE;
+            }
+            if ((x == endX && y == endY)
+                    || jumpHorizontal(maze, x, y, -1, endX, endY) != NONE
+                    || jumpHorizontal(maze, x, y, 1, endX, endY) != NONE) {
+                return x * cols + y;
+            }
+        }
+    }
+
+    /**
+     * Reconstruit le chemin en reliant les points de saut successifs par des segments droits.
+     *
+     * @param maze     Le labyrinthe en cours de résolution.
+     * @param cameFrom Le point de saut précédent de chaque point de saut.
+     * @param length   La longueur du chemin en nombre de déplacements.
+     * @param start    L'indice aplati du départ.
+     * @param end      L'indice aplati de l'arrivée.
+     * @return Les indices aplatis des cellules du chemin, du départ à l'arrivée inclus.
+     */
+    private static int[] reconstructPath(Maze maze, int[] cameFrom, int length, int start, int end) {
+        int cols = maze.getCols();
+        int[] path = new int[length + 1];
+        int i = length;
+        path[i] = end;
+
+        int current = end;
+        while (current != start) {
+            int previous = cameFrom[current];
+            int x = current / cols;
+            int y = current % cols;
+            int dx = Integer.signum(previous / cols - x);
+            int dy = Integer.signum(previous % cols - y);
+            // Parcourir le segment de current (exclu) vers previous (inclus)
+            while (x * cols + y != previous) {
+                x += dx;
+                y += dy;
+                path[--i] = x * cols + y;
+            }
+            current = previous;
+        }
+        return path;
+    }
+}
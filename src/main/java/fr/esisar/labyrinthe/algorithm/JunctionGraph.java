@@ -0,0 +1,249 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+import java.util.Optional;
+
+/**
+ * Graphe pondéré obtenu en contractant les couloirs d'un labyrinthe.
+ * <p>
+ * Les nœuds sont les cellules libres qui ne sont pas des cellules de couloir (carrefours à trois ou
+ * quatre voisins, culs-de-sac, cellules isolées) ainsi que le départ et l'arrivée. Chaque couloir
+ * (suite de cellules à exactement deux voisins libres) reliant deux nœuds devient une arête dont le
+ * poids est sa longueur en déplacements. Pour retrouver les cellules d'une arête, on mémorise sa
+ * première cellule : un couloir n'ayant qu'une continuation possible, il suffit de le suivre.
+ * <p>
+ * Le graphe est stocké au format CSR (lignes compressées) dans des tableaux primitifs : les arêtes
+ * sortantes du nœud {@code n} occupent les indices {@code offsets[n]} à {@code offsets[n + 1]} exclu.
+ * Chaque couloir apparaît une fois dans chaque sens.
+ * <p>
+ * {@link #of(Maze)} met le graphe en cache dans le labyrinthe : les résolutions suivantes ne
+ * parcourent plus les couloirs.
+ */
+public class JunctionGraph {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int NOT_A_NODE = -1;
+
+    private final int cols;
+    private final int[] nodeCells;   // Cellule aplatie de chaque nœud
+    private final int[] offsets;     // Début des arêtes de chaque nœud, plus une sentinelle
+    private final int[] targets;     // Nœud d'arrivée de chaque arête
+    private final int[] weights;     // Longueur du couloir en déplacements
+    private final int[] firstCells;  // Première cellule du couloir après le nœud de départ
+    private final int startNode;
+    private final int endNode;
+
+    /**
+     * Construit le graphe contracté du labyrinthe, en O(nombre de cellules).
+     * Préférer {@link #of(Maze)}, qui réutilise le graphe déjà construit.
+     *
+     * @param maze Le labyrinthe à contracter.
+     */
+    public JunctionGraph(Maze maze) {
+        this(maze, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Construit le graphe contracté du labyrinthe dans les limites de l'échéance et du jeton du budget,
+     * vérifiés toutes les {@link SolverBudget#CHECK_INTERVAL} cellules ou nœuds.
+     *
+     * @throws BuildInterruptedException si le budget est épuisé avant la fin de la construction.
+     */
+    JunctionGraph(Maze maze, SolverBudget budget) {
+        int rows = maze.getRows();
+        cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+
+        // 1. Numérotation des nœuds, dans l'ordre des cellules
+        int[] nodeOf = new int[rows * cols];
+        IntStack nodes = new IntStack(1024);
+        for (int cell = 0; cell < rows * cols; cell++) {
+            if ((cell & (SolverBudget.CHECK_INTERVAL - 1)) == 0) {
+                budget.checkBuild();
+            }
+            int x = cell / cols;
+            int y = cell - x * cols;
+            if (!maze.isWall(x, y) && (cell == start || cell == end || openNeighbors(maze, x, y) != 2)) {
+                nodeOf[cell] = nodes.size();
+                nodes.push(cell);
+            } else {
+                nodeOf[cell] = NOT_A_NODE;
+            }
+        }
+        nodeCells = nodes.toArray();
+
+        // 2. Parcours des couloirs depuis chaque nœud ; les arêtes sortent dans l'ordre des nœuds
+        offsets = new int[nodeCells.length + 1];
+        IntStack edgeTargets = new IntStack(1024);
+        IntStack edgeWeights = new IntStack(1024);
+        IntStack edgeFirstCells = new IntStack(1024);
+        for (int node = 0; node < nodeCells.length; node++) {
+            if ((node & (SolverBudget.CHECK_INTERVAL - 1)) == 0) {
+                budget.checkBuild();
+            }
+            offsets[node] = edgeTargets.size();
+            int cell = nodeCells[node];
+            int x = cell / cols;
+            int y = cell - x * cols;
+            for (int[] dir : DIRECTIONS) {
+                int nx = x + dir[0];
+                int ny = y + dir[1];
+                if (maze.isWall(nx, ny)) {
+                    continue;
+                }
+                int first = nx * cols + ny;
+                int previous = cell;
+                int current = first;
+                int length = 1;
+                while (nodeOf[current] == NOT_A_NODE) {
+                    int next = nextInCorridor(maze, current, previous);
+                    previous = current;
+                    current = next;
+                    length++;
+                }
+                if (current == cell) {
+                    continue; // Boucle revenant sur le nœud : jamais utile à un plus court chemin
+                }
+                edgeTargets.push(nodeOf[current]);
+                edgeWeights.push(length);
+                edgeFirstCells.push(first);
+            }
+        }
+        offsets[nodeCells.length] = edgeTargets.size();
+        targets = edgeTargets.toArray();
+        weights = edgeWeights.toArray();
+        firstCells = edgeFirstCells.toArray();
+        startNode = nodeOf[start];
+        endNode = nodeOf[end];
+    }
+
+    /**
+     * Retourne le graphe contracté du labyrinthe, construit au premier appel puis conservé par le
+     * labyrinthe jusqu'à sa prochaine modification.
+     *
+     * @param maze Le labyrinthe.
+     * @return Le graphe contracté.
+     */
+    public static JunctionGraph of(Maze maze) {
+        return maze.getCached(JunctionGraph.class, JunctionGraph::new);
+    }
+
+    /**
+     * Comme {@link #of(Maze)}, mais une construction nécessaire est abandonnée dès que l'échéance ou le
+     * jeton du budget l'exige ; le graphe inachevé n'est pas conservé.
+     *
+     * @param maze   Le labyrinthe.
+     * @param budget Les limites de la construction.
+     * @return Le graphe contracté, ou un Optional vide si la construction a été interrompue.
+     */
+    public static Optional<JunctionGraph> of(Maze maze, SolverBudget budget) {
+        return Optional.ofNullable(maze.getCached(JunctionGraph.class,
+                m -> BuildInterruptedException.orNull(() -> new JunctionGraph(m, budget))));
+    }
+
+    private static int openNeighbors(Maze maze, int x, int y) {
+        int count = 0;
+        for (int[] dir : DIRECTIONS) {
+            if (!maze.isWall(x + dir[0], y + dir[1])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retourne la continuation d'un couloir : l'unique voisin libre de {@code cell} autre que {@code previous}.
+     */
+    private int nextInCorridor(Maze maze, int cell, int previous) {
+        int x = cell / cols;
+        int y = cell - x * cols;
+        for (int[] dir : DIRECTIONS) {
+            int nx = x + dir[0];
+            int ny = y + dir[1];
+            int next = nx * cols + ny;
+            if (next != previous && !maze.isWall(nx, ny)) {
+                return next;
+            }
+        }
+        throw new IllegalStateException("Cellule de couloir sans continuation : " + cell);
+    }
+
+    /**
+     * Écrit les cellules d'une arête, nœud de départ exclu et nœud d'arrivée inclus.
+     *
+     * @param maze Le labyrinthe contracté.
+     * @param from Le nœud de départ de l'arête.
+     * @param edge L'indice de l'arête.
+     * @param path Le tableau à remplir.
+     * @param at   L'indice où écrire la première cellule.
+     */
+    void expandEdge(Maze maze, int from, int edge, int[] path, int at) {
+        int previous = nodeCells[from];
+        int current = firstCells[edge];
+        path[at] = current;
+        for (int i = 1; i < weights[edge]; i++) {
+            int next = nextInCorridor(maze, current, previous);
+            previous = current;
+            current = next;
+            path[at + i] = current;
+        }
+    }
+
+    /**
+     * @return Le nombre de nœuds.
+     */
+    public int getNodeCount() {
+        return nodeCells.length;
+    }
+
+    /**
+     * @return Le nombre d'arêtes, chaque couloir comptant une fois dans chaque sens.
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @return Une estimation de la mémoire occupée par le graphe, en octets.
+     */
+    public long memoryBytes() {
+        return 4L * (nodeCells.length + offsets.length + targets.length + weights.length + firstCells.length);
+    }
+
+    int getStartNode() {
+        return startNode;
+    }
+
+    int getEndNode() {
+        return endNode;
+    }
+
+    int nodeCell(int node) {
+        return nodeCells[node];
+    }
+
+    int nodeX(int node) {
+        return nodeCells[node] / cols;
+    }
+
+    int nodeY(int node) {
+        return nodeCells[node] % cols;
+    }
+
+    int edgesFrom(int node) {
+        return offsets[node];
+    }
+
+    int edgesEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    int target(int edge) {
+        return targets[edge];
+    }
+
+    int weight(int edge) {
+        return weights[edge];
+    }
+}
@@ -0,0 +1,137 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Algorithme A* sur le graphe des jonctions ({@link JunctionGraph}) du labyrinthe.
+ * <p>
+ * Les couloirs étant contractés en arêtes pondérées, seuls les carrefours, culs-de-sac, départ et
+ * arrivée passent par la file de priorité. L'heuristique de Manhattan reste cohérente, le poids d'une
+ * arête étant au moins la distance de Manhattan entre ses extrémités. Le chemin trouvé est ensuite
+ * déplié cellule par cellule en suivant les couloirs.
+ * <p>
+ * Le graphe est mis en cache dans le labyrinthe : seule la première résolution paie sa construction.
+ * Le nombre d'étapes compte les nœuds développés, et non les cellules.
+ */
+public class JunctionGraphSolver implements Solver {
+    private static final int KNOWN = 0;         // Couche des nœuds dont gScore est renseigné
+    private static final int CLOSED = 1;        // Couche des nœuds déjà développés
+    private static final int G_SCORE = 0;       // Tableaux de l'espace de travail, indexés par nœud
+    private static final int PARENT = 1;
+    private static final int PARENT_EDGE = 2;
+
+    @Override
+    public String getName() {
+        return "A* (jonctions)";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe sur son graphe des jonctions.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un SolverResult contenant le chemin trouvé, le nombre de nœuds développés et la taille
+     *         maximale de la file, ou un résultat partiel sans étape si la construction du graphe a été
+     *         interrompue.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        JunctionGraph graph = JunctionGraph.of(maze, budget).orElse(null);
+        if (graph == null) {
+            return SolverResult.stopped(maze, budget.stopReason(0), 0, 0); // Construction du graphe interrompue
+        }
+        int start = graph.getStartNode();
+        int end = graph.getEndNode();
+        int endX = maze.getEnd().x();
+        int endY = maze.getEnd().y();
+
+        if (start < 0 || end < 0) {
+            return SolverResult.notFound(maze, 0, 0); // Départ ou arrivée sur un mur
+        }
+        if (start == end) {
+            return SolverResult.found(maze, new int[]{graph.nodeCell(start)}, 1, 1);
+        }
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(graph.getNodeCount())) {
+            int[] gScore = workspace.ints(G_SCORE);
+            int[] parent = workspace.ints(PARENT);
+            int[] parentEdge = workspace.ints(PARENT_EDGE);
+            BucketQueue openSet = workspace.bucketQueue();
+            int steps = 0;
+            int peakFrontier = 1;
+
+            gScore[start] = 0;
+            parent[start] = start;
+            workspace.mark(KNOWN, start);
+            openSet.push(start, heuristic(graph, start, endX, endY));
+
+            while (!openSet.isEmpty()) {
+                int current = openSet.pop();
+                if (workspace.isMarked(CLOSED, current)) {
+                    continue; // Entrée périmée
+                }
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                workspace.mark(CLOSED, current);
+                steps++;
+
+                if (current == end) {
+                    return SolverResult.found(maze, expandPath(maze, graph, parent, parentEdge, gScore[end], start, end),
+                            steps, peakFrontier);
+                }
+
+                for (int edge = graph.edgesFrom(current); edge < graph.edgesEnd(current); edge++) {
+                    int neighbor = graph.target(edge);
+                    int tentativeGScore = gScore[current] + graph.weight(edge);
+                    if (!workspace.isMarked(KNOWN, neighbor) || tentativeGScore < gScore[neighbor]) {
+                        workspace.mark(KNOWN, neighbor);
+                        gScore[neighbor] = tentativeGScore;
+                        parent[neighbor] = current;
+                        parentEdge[neighbor] = edge;
+                        openSet.push(neighbor, tentativeGScore + heuristic(graph, neighbor, endX, endY));
+                        peakFrontier = Math.max(peakFrontier, openSet.size());
+                    }
+                }
+            }
+
+            // Si aucune solution n'est trouvée, retourner le nombre d'étapes effectuées
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Fonction heuristique (distance de Manhattan du nœud à l'arrivée).
+     */
+    private static int heuristic(JunctionGraph graph, int node, int endX, int endY) {
+        return Math.abs(graph.nodeX(node) - endX) + Math.abs(graph.nodeY(node) - endY);
+    }
+
+    /**
+     * Déplie le chemin de nœuds en chemin de cellules, couloir par couloir.
+     *
+     * @param length La longueur du chemin en déplacements.
+     * @return Les indices aplatis des cellules du chemin, du départ à l'arrivée inclus.
+     */
+    private static int[] expandPath(Maze maze, JunctionGraph graph, int[] parent, int[] parentEdge,
+                                    int length, int start, int end) {
+        int[] path = new int[length + 1];
+        path[0] = graph.nodeCell(start);
+        // Remonter les arêtes depuis l'arrivée, en remplissant chaque couloir à sa place
+        int at = length + 1;
+        for (int node = end; node != start; node = parent[node]) {
+            int edge = parentEdge[node];
+            at -= graph.weight(edge);
+            graph.expandEdge(maze, parent[node], edge, path, at);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,147 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Algorithme A* guidé par l'heuristique ALT (A*, repères et inégalité triangulaire).
+ * <p>
+ * L'heuristique est le maximum de la distance de Manhattan et des minorants donnés par les repères
+ * d'un {@link LandmarkIndex}. Elle reste cohérente, ce qui permet de garder la file à seaux de
+ * {@link BucketAStarSolver} ; mais elle suit les détours du labyrinthe, là où la distance de Manhattan
+ * peut sous-estimer le chemin d'un facteur 50 et faire dégénérer A* en parcours en largeur.
+ * <p>
+ * L'index est mis en cache dans le labyrinthe : seule la première résolution paie le choix des
+ * repères et leurs parcours, les suivantes n'ont qu'à consulter les tables.
+ */
+public class LandmarkAStarSolver implements Solver {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Directions possibles : haut, bas, gauche, droite
+    private static final int KNOWN = 0;      // Couche des cellules dont gScore est renseigné
+    private static final int CLOSED = 1;     // Couche des cellules déjà développées
+    private static final int G_SCORE = 0;    // Tableaux de l'espace de travail
+    private static final int CAME_FROM = 1;
+
+    private final int landmarkCount;
+
+    /**
+     * Construit un solveur utilisant {@link LandmarkIndex#DEFAULT_LANDMARKS} repères.
+     */
+    public LandmarkAStarSolver() {
+        this(LandmarkIndex.DEFAULT_LANDMARKS);
+    }
+
+    /**
+     * Construit un solveur utilisant le nombre de repères donné. Plus de repères donnent une
+     * heuristique plus serrée, au prix d'un prétraitement et de tables plus gros.
+     *
+     * @param landmarkCount Le nombre de repères.
+     * @throws IllegalArgumentException si le nombre de repères est inférieur à 1.
+     */
+    public LandmarkAStarSolver(int landmarkCount) {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException("Nombre de repères invalide : " + landmarkCount);
+        }
+        this.landmarkCount = landmarkCount;
+    }
+
+    @Override
+    public String getName() {
+        return "A* (ALT)";
+    }
+
+    @Override
+    public String getCacheKey() {
+        return getName() + "/" + landmarkCount;
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return SolverCapabilities.sequential(true, SolverCapabilities.MemoryClass.FLAT);
+    }
+
+    /**
+     * Résout le labyrinthe en utilisant A* avec l'heuristique ALT.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un SolverResult contenant le chemin trouvé, le nombre de cellules développées et la taille
+     *         maximale de la file (entrées périmées comprises), ou un résultat partiel sans étape si la
+     *         construction des tables de repères a été interrompue.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+        int endX = maze.getEnd().x();
+        int endY = maze.getEnd().y();
+        LandmarkIndex landmarks = LandmarkIndex.of(maze, landmarkCount, budget).orElse(null);
+        if (landmarks == null) {
+            return SolverResult.stopped(maze, budget.stopReason(0), 0, 0); // Construction des tables interrompue
+        }
+        int[] target = landmarks.distancesFrom(end);
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            int[] gScore = workspace.ints(G_SCORE);       // Coût du départ à chaque cellule connue
+            int[] cameFrom = workspace.ints(CAME_FROM);   // Parent de chaque cellule sur le meilleur chemin connu
+            BucketQueue openSet = workspace.bucketQueue();
+            int steps = 0;
+            int peakFrontier = 1;
+
+            gScore[start] = 0;
+            cameFrom[start] = start;
+            workspace.mark(KNOWN, start);
+            openSet.push(start, heuristic(landmarks, target, start, maze.getStart().x(), maze.getStart().y(), endX, endY));
+
+            while (!openSet.isEmpty()) {
+                int current = openSet.pop();
+                if (workspace.isMarked(CLOSED, current)) {
+                    continue; // Entrée périmée : la cellule a déjà été développée avec un meilleur score
+                }
+                if (budget.isExhausted(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                workspace.mark(CLOSED, current);
+                steps++;
+
+                if (current == end) {
+                    return SolverResult.found(maze, SolverResult.pathFromParents(cameFrom, start, end), steps, peakFrontier);
+                }
+
+                int x = current / cols;
+                int y = current - x * cols;
+                int tentativeGScore = gScore[current] + 1;
+
+                // Explorer les voisins
+                for (int[] dir : DIRECTIONS) {
+                    int nx = x + dir[0];
+                    int ny = y + dir[1];
+                    if (maze.isWall(nx, ny)) {
+                        continue;
+                    }
+                    int neighbor = nx * cols + ny;
+                    if (!workspace.isMarked(KNOWN, neighbor) || tentativeGScore < gScore[neighbor]) {
+                        workspace.mark(KNOWN, neighbor);
+                        gScore[neighbor] = tentativeGScore;
+                        cameFrom[neighbor] = current;
+                        openSet.push(neighbor, tentativeGScore + heuristic(landmarks, target, neighbor, nx, ny, endX, endY));
+                        peakFrontier = Math.max(peakFrontier, openSet.size());
+                    }
+                }
+            }
+
+            // Si aucune solution n'est trouvée, retourner le nombre d'étapes effectuées
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Fonction heuristique (maximum de la distance de Manhattan et des minorants des repères).
+     */
+    private static int heuristic(LandmarkIndex landmarks, int[] target, int cell, int x, int y, int endX, int endY) {
+        return Math.max(Math.abs(x - endX) + Math.abs(y - endY), landmarks.lowerBound(cell, target));
+    }
+}
@@ -0,0 +1,266 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Points de repère (« landmarks ») de l'heuristique ALT et leurs tables de distances.
+ * <p>
+ * Pour un repère {@code L}, l'inégalité triangulaire donne {@code d(v, t) >= |d(L, t) - d(L, v)|} :
+ * le maximum de ces bornes sur tous les repères est une heuristique admissible et cohérente, bien plus
+ * serrée que la distance de Manhattan dans un labyrinthe où le chemin réel fait de nombreux détours.
+ * <p>
+ * Les repères sont choisis par échantillonnage du point le plus éloigné : le premier est la cellule la
+ * plus éloignée du départ, chaque suivant la cellule la plus éloignée des repères déjà choisis. Ils
+ * sont donc tous dans la composante du départ. Les distances sont stockées cellule par cellule (les
+ * distances d'une cellule à tous les repères sont contiguës), dans un {@code short[]} si elles tiennent
+ * sur 15 bits, dans un {@code int[]} sinon ; -1 marque une cellule non atteinte.
+ */
+public class LandmarkIndex {
+    /**
+     * Nombre de repères par défaut.
+     */
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    /**
+     * Index déjà construits pour un labyrinthe, par nombre de repères.
+     */
+    private static final class Cache {
+        private final ConcurrentHashMap<Integer, LandmarkIndex> byCount = new ConcurrentHashMap<>();
+    }
+
+    private final int cols;
+    private final int[] landmarks;     // Cellules aplaties des repères
+    private final short[] shortTable;  // Distances cellule par cellule, ou null si elles ne tiennent pas sur 15 bits
+    private final int[] intTable;      // Distances cellule par cellule, ou null si shortTable suffit
+    private final long buildNanos;
+
+    /**
+     * Choisit les repères et calcule leurs tables de distances.
+     * Préférer {@link #of(Maze, int)}, qui réutilise l'index déjà construit.
+     *
+     * @param maze  Le labyrinthe.
+     * @param count Le nombre de repères souhaité ; il peut y en avoir moins si la composante du
+     *              départ a moins de cellules.
+     * @throws IllegalArgumentException si le nombre de repères est inférieur à 1.
+     */
+    public LandmarkIndex(Maze maze, int count) {
+        this(maze, count, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Choisit les repères et calcule leurs tables de distances dans les limites de l'échéance et du
+     * jeton du budget, vérifiés toutes les {@link SolverBudget#CHECK_INTERVAL} cellules parcourues.
+     *
+     * @throws BuildInterruptedException si le budget est épuisé avant la fin de la construction.
+     */
+    LandmarkIndex(Maze maze, int count, SolverBudget budget) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Nombre de repères invalide : " + count);
+        }
+        long startTime = System.nanoTime();
+        cols = maze.getCols();
+        int cells = maze.getRows() * cols;
+        int[] queue = new int[cells];
+        int[] chosen = new int[count];
+        int found = 0;
+        short[] shorts = new short[0]; // Distances sur 16 bits, tant qu'elles y tiennent
+        int[] ints = null;
+
+        int seed = maze.getStart().x() * cols + maze.getStart().y();
+        if (!maze.isWall(maze.getStart().x(), maze.getStart().y())) {
+            // Distance minimale de chaque cellule aux repères déjà choisis (au départ, au point de départ)
+            int[] nearest = new int[cells];
+            int reached = breadthFirst(maze, seed, nearest, queue, budget);
+            int next = queue[reached - 1];
+            // Toute cellule atteinte autre que le départ peut devenir un repère
+            int stride = Math.min(count, reached - 1);
+            shorts = new short[cells * stride];
+            int[] distance = new int[cells]; // Réutilisé pour chaque repère, recopié dans la table
+            while (found < count && nearest[next] > 0) {
+                reached = breadthFirst(maze, next, distance, queue, budget);
+                if (ints == null && distance[queue[reached - 1]] > Short.MAX_VALUE) {
+                    ints = widen(shorts);
+                    shorts = null;
+                }
+                chosen[found] = next;
+                next = seed;
+                for (int cell = 0, index = found; cell < cells; cell++, index += stride) {
+                    if (ints != null) {
+                        ints[index] = distance[cell];
+                    } else {
+                        shorts[index] = (short) distance[cell];
+                    }
+                    if (distance[cell] >= 0) {
+                        nearest[cell] = Math.min(nearest[cell], distance[cell]);
+                        if (nearest[cell] > nearest[next]) {
+                            next = cell;
+                        }
+                    }
+                }
+                found++;
+            }
+        }
+        landmarks = Arrays.copyOf(chosen, found);
+        shortTable = shorts;
+        intTable = ints;
+        buildNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Retourne l'index de repères du labyrinthe, construit au premier appel puis conservé par le
+     * labyrinthe jusqu'à sa prochaine modification.
+     *
+     * @param maze  Le labyrinthe.
+     * @param count Le nombre de repères souhaité.
+     * @return L'index de repères.
+     */
+    public static LandmarkIndex of(Maze maze, int count) {
+        return maze.getCached(Cache.class, m -> new Cache()).byCount
+                .computeIfAbsent(count, c -> new LandmarkIndex(maze, c));
+    }
+
+    /**
+     * Comme {@link #of(Maze, int)}, mais une construction nécessaire est abandonnée dès que l'échéance
+     * ou le jeton du budget l'exige ; l'index inachevé n'est pas conservé.
+     *
+     * @param maze   Le labyrinthe.
+     * @param count  Le nombre de repères souhaité.
+     * @param budget Les limites de la construction.
+     * @return L'index de repères, ou un Optional vide si la construction a été interrompue.
+     */
+    public static Optional<LandmarkIndex> of(Maze maze, int count, SolverBudget budget) {
+        // Une valeur null n'est pas conservée par computeIfAbsent
+        return Optional.ofNullable(maze.getCached(Cache.class, m -> new Cache()).byCount
+                .computeIfAbsent(count, c -> BuildInterruptedException.orNull(() -> new LandmarkIndex(maze, c, budget))));
+    }
+
+    /**
+     * Recopie une table de distances sur 16 bits dans une table sur 32 bits, quand une distance
+     * dépasse {@link Short#MAX_VALUE}.
+     */
+    private static int[] widen(short[] shorts) {
+        int[] ints = new int[shorts.length];
+        for (int i = 0; i < shorts.length; i++) {
+            ints[i] = shorts[i];
+        }
+        return ints;
+    }
+
+    /**
+     * Parcours en largeur depuis une cellule.
+     *
+     * @param distance Reçoit la distance de chaque cellule à la source, -1 si elle n'est pas atteinte.
+     * @param queue    Reçoit les cellules atteintes, par distance croissante : la dernière est la plus
+     *                 éloignée de la source.
+     * @return Le nombre de cellules atteintes.
+     * @throws BuildInterruptedException si le budget est épuisé.
+     */
+    private static int breadthFirst(Maze maze, int source, int[] distance, int[] queue, SolverBudget budget) {
+        int cols = maze.getCols();
+        Arrays.fill(distance, -1);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        distance[source] = 0;
+        while (head < tail) {
+            if ((head & (SolverBudget.CHECK_INTERVAL - 1)) == 0) {
+                budget.checkBuild();
+            }
+            int current = queue[head++];
+            int x = current / cols;
+            int y = current - x * cols;
+            for (int[] dir : DIRECTIONS) {
+                int nx = x + dir[0];
+                int ny = y + dir[1];
+                if (maze.isWall(nx, ny)) {
+                    continue;
+                }
+                int neighbor = nx * cols + ny;
+                if (distance[neighbor] < 0) {
+                    distance[neighbor] = distance[current] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Retourne la distance d'une cellule à un repère.
+     *
+     * @return La distance, ou -1 si la cellule n'est pas reliée au repère.
+     */
+    int distance(int cell, int landmark) {
+        int index = cell * landmarks.length + landmark;
+        return shortTable != null ? shortTable[index] : intTable[index];
+    }
+
+    /**
+     * Retourne les distances d'une cellule à tous les repères, à calculer une fois par requête pour
+     * la cellule d'arrivée.
+     */
+    int[] distancesFrom(int cell) {
+        int[] result = new int[landmarks.length];
+        for (int l = 0; l < landmarks.length; l++) {
+            result[l] = distance(cell, l);
+        }
+        return result;
+    }
+
+    /**
+     * Minorant de la distance d'une cellule à l'arrivée par l'inégalité triangulaire.
+     *
+     * @param cell   La cellule.
+     * @param target Les distances de l'arrivée aux repères ({@link #distancesFrom(int)}).
+     * @return Le plus grand minorant obtenu, 0 si aucun repère ne s'applique.
+     */
+    int lowerBound(int cell, int[] target) {
+        int bound = 0;
+        int base = cell * target.length;
+        for (int l = 0; l < target.length; l++) {
+            int d = shortTable != null ? shortTable[base + l] : intTable[base + l];
+            if (d >= 0 && target[l] >= 0) {
+                bound = Math.max(bound, Math.abs(target[l] - d));
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * @return Le nombre de repères retenus.
+     */
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Retourne la position d'un repère.
+     *
+     * @param landmark Le numéro du repère.
+     * @return La cellule du repère.
+     */
+    public Point getLandmark(int landmark) {
+        return new Point(landmarks[landmark] / cols, landmarks[landmark] % cols);
+    }
+
+    /**
+     * @return Le temps de choix des repères et de calcul des tables, en nanosecondes.
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @return Une estimation de la mémoire occupée par les tables, en octets.
+     */
+    public long memoryBytes() {
+        return shortTable != null ? 2L * shortTable.length : 4L * intTable.length;
+    }
+}
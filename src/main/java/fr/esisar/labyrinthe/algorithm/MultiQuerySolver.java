@@ -0,0 +1,265 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Résolution de nombreuses requêtes (départ, arrivée) quelconques sur un même labyrinthe.
+ * <p>
+ * Pour chaque arrivée distincte, un parcours en largeur complet est lancé une seule fois depuis
+ * l'arrivée : il donne pour chaque cellule sa distance à l'arrivée et la cellule suivante vers elle.
+ * Ce champ est mis en cache, et toute requête suivante vers la même arrivée se contente de le suivre
+ * depuis le départ, en temps proportionnel à la longueur du chemin.
+ * <p>
+ * Un champ occupe 8 octets par cellule. Le cache est borné en octets et évince les champs les moins
+ * récemment utilisés ; le dernier champ calculé est toujours conservé, même s'il dépasse la borne.
+ * <p>
+ * Le labyrinthe ne doit pas être modifié tant que le solveur est utilisé.
+ */
+public class MultiQuerySolver {
+    /**
+     * Taille maximale du cache par défaut, en octets.
+     */
+    public static final long DEFAULT_MAX_CACHE_BYTES = 64L << 20;
+
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Même ordre que BFSSolver
+    private static final int UNREACHABLE = -1;
+    private static final int QUEUE = 0; // Tableau de l'espace de travail
+
+    /**
+     * Champ de distances calculé depuis une arrivée.
+     */
+    private static final class Field {
+        final int[] next;      // Cellule suivante vers l'arrivée, valable si la distance est connue
+        final int[] distance;  // Distance à l'arrivée, UNREACHABLE si l'arrivée est inaccessible
+        final int steps;       // Nombre de cellules développées pour le calculer
+        final int peakFrontier;
+
+        Field(int[] next, int[] distance, int steps, int peakFrontier) {
+            this.next = next;
+            this.distance = distance;
+            this.steps = steps;
+            this.peakFrontier = peakFrontier;
+        }
+
+        long bytes() {
+            return 4L * (next.length + distance.length);
+        }
+    }
+
+    private final Maze maze;
+    private final long maxCacheBytes;
+    private final LinkedHashMap<Integer, Field> fields = new LinkedHashMap<>(16, 0.75f, true); // Ordre d'accès
+    private long cachedBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Construit un solveur avec un cache de {@link #DEFAULT_MAX_CACHE_BYTES} octets.
+     *
+     * @param maze Le labyrinthe sur lequel répondre aux requêtes.
+     */
+    public MultiQuerySolver(Maze maze) {
+        this(maze, DEFAULT_MAX_CACHE_BYTES);
+    }
+
+    /**
+     * Construit un solveur avec un cache borné.
+     *
+     * @param maze          Le labyrinthe sur lequel répondre aux requêtes.
+     * @param maxCacheBytes La taille maximale du cache de champs, en octets.
+     */
+    public MultiQuerySolver(Maze maze, long maxCacheBytes) {
+        if (maxCacheBytes < 0) {
+            throw new IllegalArgumentException("Taille de cache négative : " + maxCacheBytes);
+        }
+        this.maze = maze;
+        this.maxCacheBytes = maxCacheBytes;
+    }
+
+    /**
+     * Cherche un plus court chemin entre deux cellules quelconques du labyrinthe.
+     * <p>
+     * Le nombre d'étapes du résultat est celui du parcours qui a calculé le champ de l'arrivée,
+     * ou 0 si ce champ était déjà en cache.
+     *
+     * @param start La cellule de départ.
+     * @param end   La cellule d'arrivée.
+     * @return Un SolverResult contenant le chemin du départ à l'arrivée inclus, s'il existe.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public SolverResult solve(Point start, Point end) {
+        int source = cellIndex(start);
+        int target = cellIndex(end);
+        if (maze.isWall(start.x(), start.y()) || maze.isWall(end.x(), end.y())) {
+            return SolverResult.notFound(maze, 0, 0);
+        }
+
+        boolean[] computed = new boolean[1];
+        Field field = field(target, computed);
+        int steps = computed[0] ? field.steps : 0;
+        int peakFrontier = computed[0] ? field.peakFrontier : 0;
+        if (field.distance[source] == UNREACHABLE) {
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+
+        // Suivre le champ depuis le départ jusqu'à l'arrivée.
+        int[] path = new int[field.distance[source] + 1];
+        int current = source;
+        for (int i = 0; i < path.length; i++) {
+            path[i] = current;
+            current = field.next[current];
+        }
+        return SolverResult.found(maze, path, steps, peakFrontier);
+    }
+
+    /**
+     * Résout une série de requêtes vers la même arrivée ; le champ de l'arrivée n'est calculé qu'une fois.
+     *
+     * @param starts Les cellules de départ.
+     * @param end    La cellule d'arrivée.
+     * @return Les résultats, dans l'ordre des départs.
+     */
+    public List<SolverResult> solveAll(List<Point> starts, Point end) {
+        List<SolverResult> results = new ArrayList<>(starts.size());
+        for (Point start : starts) {
+            results.add(solve(start, end));
+        }
+        return results;
+    }
+
+    /**
+     * Retourne la longueur d'un plus court chemin, en nombre de déplacements.
+     *
+     * @param start La cellule de départ.
+     * @param end   La cellule d'arrivée.
+     * @return La distance, ou -1 si l'arrivée est inaccessible.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public int distance(Point start, Point end) {
+        int source = cellIndex(start);
+        int target = cellIndex(end);
+        if (maze.isWall(start.x(), start.y()) || maze.isWall(end.x(), end.y())) {
+            return UNREACHABLE;
+        }
+        return field(target, new boolean[1]).distance[source];
+    }
+
+    /**
+     * Vide le cache des champs.
+     */
+    public synchronized void clear() {
+        fields.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Retourne le nombre de champs en cache.
+     */
+    public synchronized int getCachedFieldCount() {
+        return fields.size();
+    }
+
+    /**
+     * Retourne la mémoire occupée par les champs en cache, en octets.
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Retourne le nombre de requêtes servies par un champ déjà en cache.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retourne le nombre de requêtes qui ont dû calculer un champ.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private int cellIndex(Point point) {
+        if (point.x() < 0 || point.x() >= maze.getRows() || point.y() < 0 || point.y() >= maze.getCols()) {
+            throw new IllegalArgumentException("Cellule hors du labyrinthe : " + point);
+        }
+        return point.x() * maze.getCols() + point.y();
+    }
+
+    /**
+     * Retourne le champ de l'arrivée, calculé et mis en cache s'il n'y est pas déjà.
+     *
+     * @param computed Reçoit {@code true} si le champ vient d'être calculé.
+     */
+    private synchronized Field field(int target, boolean[] computed) {
+        Field field = fields.get(target);
+        if (field != null) {
+            hits++;
+            return field;
+        }
+        misses++;
+        computed[0] = true;
+        field = computeField(target);
+        fields.put(target, field);
+        cachedBytes += field.bytes();
+
+        // Évincer les champs les moins récemment utilisés, en gardant celui qui vient d'être calculé.
+        Iterator<Field> eldest = fields.values().iterator();
+        while (cachedBytes > maxCacheBytes && fields.size() > 1) {
+            cachedBytes -= eldest.next().bytes();
+            eldest.remove();
+        }
+        return field;
+    }
+
+    /**
+     * Parcours en largeur complet depuis l'arrivée.
+     */
+    private Field computeField(int target) {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int[] next = new int[rows * cols];
+        int[] distance = new int[rows * cols];
+        Arrays.fill(distance, UNREACHABLE);
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+            int[] queue = workspace.ints(QUEUE);
+            int head = 0;
+            int tail = 0;
+            int peakFrontier = 1;
+
+            queue[tail++] = target;
+            next[target] = target;
+            distance[target] = 0;
+
+            while (head < tail) {
+                int current = queue[head++];
+                int x = current / cols;
+                int y = current - x * cols;
+                for (int[] dir : DIRECTIONS) {
+                    int nx = x + dir[0];
+                    int ny = y + dir[1];
+                    if (maze.isWall(nx, ny)) {
+                        continue;
+                    }
+                    int neighbor = nx * cols + ny;
+                    if (distance[neighbor] == UNREACHABLE) {
+                        distance[neighbor] = distance[current] + 1;
+                        next[neighbor] = current;
+                        queue[tail++] = neighbor;
+                    }
+                }
+                peakFrontier = Math.max(peakFrontier, tail - head);
+            }
+            return new Field(next, distance, head, peakFrontier);
+        }
+    }
+}
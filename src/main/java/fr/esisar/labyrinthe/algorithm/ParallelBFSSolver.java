@@ -0,0 +1,197 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Parcours en largeur parallèle, synchronisé par niveaux, sur un {@link ForkJoinPool}.
+ * <p>
+ * Chaque niveau de la frontière est découpé en tranches développées en parallèle. Pour retrouver
+ * exactement le chemin de {@link BFSSolver}, chaque cellule découverte garde la plus petite clé
+ * {@code position dans la frontière * 4 + direction} parmi celles qui l'atteignent : c'est celle
+ * qu'une file séquentielle aurait vue en premier. Le niveau suivant est ensuite rangé en parcourant
+ * les clés dans l'ordre, ce qui donne les mêmes parents, le même ordre de frontière et le même
+ * nombre d'étapes que le BFS séquentiel.
+ * <p>
+ * La frontière courante et la suivante sont deux tableaux de l'{@link SolverWorkspace espace de
+ * travail}, échangés à chaque niveau. Les petites frontières sont développées séquentiellement pour
+ * éviter le coût de la synchronisation.
+ * <p>
+ * La limite d'étapes est appliquée avant de développer un niveau : seules les cellules qui tiennent
+ * dans le nombre d'étapes restant sont examinées, comme dans le BFS séquentiel. L'échéance et le
+ * jeton sont vérifiés au début de chaque tranche, et les étapes comptées sont celles des tranches
+ * réellement développées.
+ */
+public class ParallelBFSSolver implements Solver {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Même ordre que BFSSolver
+    private static final int VISITED = 0;   // Couche de marques des cellules découvertes
+    private static final int PARENT = 0;    // Tableaux de l'espace de travail
+    private static final int FRONTIER = 1;
+    private static final int NEXT = 2;
+
+    /**
+     * Taille minimale d'une tranche de frontière confiée à une tâche.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Construit un solveur utilisant le pool fork-join commun.
+     */
+    public ParallelBFSSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construit un solveur utilisant le pool fork-join donné.
+     *
+     * @param pool Le pool sur lequel développer les niveaux.
+     */
+    public ParallelBFSSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String getName() {
+        return "BFS parallèle";
+    }
+
+    @Override
+    public SolverCapabilities getCapabilities() {
+        return new SolverCapabilities(true, SolverCapabilities.MemoryClass.FLAT, true, false);
+    }
+
+    /**
+     * Résout le labyrinthe sur le pool fork-join du solveur.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un objet SolverResult identique à celui de {@link BFSSolver} ; arrêté par le budget, le
+     *         résultat partiel compte les cellules réellement développées.
+     */
+    @Override
+    public SolverResult solve(Maze maze, SolverBudget budget) {
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            return SolverResult.notFound(maze, 0, 0); // Départ et arrivée dans deux composantes différentes
+        }
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int cells = rows * cols;
+        int start = maze.getStart().x() * cols + maze.getStart().y();
+        int end = maze.getEnd().x() * cols + maze.getEnd().y();
+
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(cells)) {
+            // Chaque cellule n'entre qu'une fois dans une frontière : deux tableaux de rows * cols
+            // cases suffisent. Seul le tableau atomique des clés est alloué à chaque résolution.
+            int[] parent = workspace.ints(PARENT);
+            int[] frontier = workspace.ints(FRONTIER);
+            int[] next = workspace.ints(NEXT);
+            AtomicIntegerArray key = new AtomicIntegerArray(cells); // Plus petite clé de découverte, encodée
+            AtomicInteger expanded = new AtomicInteger();
+
+            frontier[0] = start;
+            int frontierSize = 1;
+            parent[start] = start;
+            workspace.mark(VISITED, start);
+            int steps = 0;
+            int peakFrontier = 1;
+
+            while (frontierSize > 0) {
+                if (budget.isExhaustedNow(steps)) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps), steps, peakFrontier);
+                }
+                // Seules les cellules qui tiennent dans la limite d'étapes sont développées.
+                int levelSize = (int) Math.min(frontierSize, (long) budget.getMaxSteps() - steps);
+                // L'arrivée est dans ce niveau : les cellules qui la précèdent dans la file comptent comme étapes.
+                for (int i = 0; i < levelSize; i++) {
+                    if (frontier[i] == end) {
+                        return SolverResult.found(maze, SolverResult.pathFromParents(parent, start, end), steps + i + 1, peakFrontier);
+                    }
+                }
+                if (levelSize < frontierSize) {
+                    return SolverResult.stopped(maze, budget.stopReason(steps + levelSize), steps + levelSize, peakFrontier);
+                }
+
+                // 1. Développement du niveau, tranche par tranche
+                int[] level = frontier;
+                int levelSteps = steps;
+                int chunks = (levelSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                expanded.set(0);
+                Runnable expand = () -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                    int from = c * CHUNK_SIZE;
+                    int to = Math.min(levelSize, from + CHUNK_SIZE);
+                    if (budget.isExhaustedNow(levelSteps + from)) return; // Tranche abandonnée
+                    for (int i = from; i < to; i++) {
+                        int current = level[i];
+                        int x = current / cols;
+                        int y = current - x * cols;
+                        for (int d = 0; d < DIRECTIONS.length; d++) {
+                            int nx = x + DIRECTIONS[d][0];
+                            int ny = y + DIRECTIONS[d][1];
+                            if (maze.isWall(nx, ny)) continue;
+                            int neighbor = nx * cols + ny;
+                            if (workspace.isMarked(VISITED, neighbor)) continue; // Découverte à un niveau précédent
+                            minKey(key, neighbor, i * 4 + d);
+                        }
+                    }
+                    expanded.addAndGet(to - from);
+                });
+                if (chunks > 1) {
+                    pool.submit(expand).join();
+                } else {
+                    expand.run();
+                }
+                if (expanded.get() < levelSize) {
+                    int done = steps + expanded.get();
+                    return SolverResult.stopped(maze, budget.stopReason(done), done, peakFrontier);
+                }
+                steps += levelSize;
+
+                // 2. Rangement du niveau suivant dans l'ordre d'une file séquentielle
+                int nextSize = 0;
+                for (int i = 0; i < levelSize; i++) {
+                    int current = level[i];
+                    int x = current / cols;
+                    int y = current - x * cols;
+                    for (int d = 0; d < DIRECTIONS.length; d++) {
+                        int nx = x + DIRECTIONS[d][0];
+                        int ny = y + DIRECTIONS[d][1];
+                        if (maze.isWall(nx, ny)) continue;
+                        int neighbor = nx * cols + ny;
+                        if (workspace.isMarked(VISITED, neighbor)) continue;
+                        if (key.get(neighbor) != Integer.MAX_VALUE - (i * 4 + d)) continue; // Atteinte plus tôt dans la file
+                        workspace.mark(VISITED, neighbor);
+                        parent[neighbor] = current;
+                        next[nextSize++] = neighbor;
+                    }
+                }
+                frontier = next;
+                next = level;
+                frontierSize = nextSize;
+                peakFrontier = Math.max(peakFrontier, nextSize);
+            }
+
+            // Si la frontière est vide et qu'on n'a pas atteint la fin, il n'y a pas de solution.
+            return SolverResult.notFound(maze, steps, peakFrontier);
+        }
+    }
+
+    /**
+     * Retient atomiquement la plus petite clé proposée pour la cellule.
+     * Les clés sont stockées sous la forme {@code Integer.MAX_VALUE - clé} : la valeur initiale 0 du
+     * tableau signifie « aucune clé », ce qui évite de le réinitialiser.
+     */
+    private static void minKey(AtomicIntegerArray key, int cell, int candidate) {
+        int encoded = Integer.MAX_VALUE - candidate;
+        while (true) {
+            int current = key.get(cell);
+            if (current >= encoded) return;
+            if (key.compareAndSet(cell, current, encoded)) return;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache borné des résultats de résolution et des statistiques d'analyse, indexé par le contenu des
+ * labyrinthes.
+ * <p>
+ * La clé d'une entrée est l'empreinte du labyrinthe ({@link Maze#getFingerprint()}, tenue à jour en
+ * temps constant lors des modifications) et la clé de l'algorithme ({@link Solver#getCacheKey()}, qui
+ * inclut ses paramètres) ou le nom de l'analyse : résoudre de nouveau un labyrinthe identique, même
+ * s'il s'agit d'un autre objet, est servi depuis la mémoire.
+ * <p>
+ * Le cache est borné par une taille estimée en octets ; au-delà, les entrées les moins récemment
+ * utilisées sont évincées. Une entrée ne retient aucun labyrinthe : seuls le statut, le chemin, les
+ * compteurs et la précision d'un résultat sont conservés, et le résultat servi est rattaché au
+ * labyrinthe demandé, de même contenu. Les labyrinthes et les structures qu'ils mettent en cache
+ * (composantes, graphes, index) restent ainsi libérables, et la taille estimée borne bien la mémoire
+ * retenue. Les résultats partiels d'une résolution arrêtée par son budget
+ * ({@link SolverResult#isStopped()}) ne sont pas conservés.
+ * <p>
+ * Toutes les méthodes peuvent être appelées depuis plusieurs threads.
+ */
+public final class SolveCache {
+    /**
+     * Capacité du cache partagé : 64 Mo.
+     */
+    public static final long DEFAULT_CAPACITY_BYTES = 64L << 20;
+
+    private static final long ENTRY_OVERHEAD = 96; // En-têtes, clé et nœud de la table, en octets
+    private static final SolveCache SHARED = new SolveCache(DEFAULT_CAPACITY_BYTES);
+
+    private record Key(long fingerprint, String name) {
+    }
+
+    private record Entry(Object value, long bytes) {
+    }
+
+    /**
+     * Partie d'un résultat conservée en cache, indépendante du labyrinthe résolu.
+     */
+    private record Stored(SolverResult.Status status, int[] path, int steps, int peakFrontier, String detail) {
+    }
+
+    /**
+     * Résultat servi depuis le cache, rattaché au labyrinthe demandé.
+     */
+    private static final class Cached extends SolverResult {
+        private final String detail;
+
+        Cached(Maze maze, Stored stored) {
+            super(maze, stored.status(), stored.path(), stored.steps(), stored.peakFrontier());
+            this.detail = stored.detail();
+        }
+
+        @Override
+        public String getDetail() {
+            return detail;
+        }
+    }
+
+    private final long capacityBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // Ordre d'accès
+    private long sizeBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Crée un cache vide.
+     *
+     * @param capacityBytes La taille maximale estimée des entrées, en octets.
+     * @throws IllegalArgumentException si la capacité est négative.
+     */
+    public SolveCache(long capacityBytes) {
+        if (capacityBytes < 0) {
+            throw new IllegalArgumentException("Capacité négative : " + capacityBytes);
+        }
+        this.capacityBytes = capacityBytes;
+    }
+
+    /**
+     * @return Le cache partagé par l'interface et l'analyseur.
+     */
+    public static SolveCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Retourne le résultat en cache pour ce labyrinthe, ou résout le labyrinthe et conserve le résultat.
+     *
+     * @param solver L'algorithme.
+     * @param maze   Le labyrinthe.
+     * @return Le résultat, éventuellement calculé sur un autre labyrinthe de même contenu.
+     */
+    public SolverResult solve(Solver solver, Maze maze) {
+        return solve(solver, maze, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Retourne le résultat en cache pour ce labyrinthe, ou résout le labyrinthe dans les limites du
+     * budget et conserve le résultat s'il est complet.
+     *
+     * @param solver L'algorithme.
+     * @param maze   Le labyrinthe.
+     * @param budget Les limites de la résolution, ignorées si le résultat est en cache.
+     * @return Le résultat, éventuellement calculé sur un autre labyrinthe de même contenu, ou partiel si
+     *         le budget a été épuisé.
+     */
+    public SolverResult solve(Solver solver, Maze maze, SolverBudget budget) {
+        long fingerprint = maze.getFingerprint();
+        Optional<SolverResult> cached = get(solver, maze);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        SolverResult result = solver.solve(maze, budget);
+        if (maze.getFingerprint() == fingerprint) { // Sinon, modifié pendant la résolution
+            put(solver, maze, result);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le résultat en cache pour ce labyrinthe, sans résoudre.
+     *
+     * @param solver L'algorithme.
+     * @param maze   Le labyrinthe.
+     * @return Le résultat rattaché à ce labyrinthe, ou un Optional vide s'il n'est pas en cache.
+     */
+    public Optional<SolverResult> get(Solver solver, Maze maze) {
+        Stored stored = (Stored) lookup(new Key(maze.getFingerprint(), solver.getCacheKey()));
+        return stored == null ? Optional.empty() : Optional.of(new Cached(maze, stored));
+    }
+
+    /**
+     * Conserve un résultat calculé par ailleurs. Un résultat partiel est ignoré.
+     *
+     * @param solver L'algorithme qui l'a calculé.
+     * @param maze   Le labyrinthe résolu, dans l'état où il a été résolu.
+     * @param result Le résultat.
+     */
+    public void put(Solver solver, Maze maze, SolverResult result) {
+        if (result.isStopped()) {
+            return; // Dépend du budget, et non du seul contenu du labyrinthe
+        }
+        int[] path = result.getPath();
+        String detail = result.getDetail();
+        // Le chemin (4 octets par cellule) domine
+        long bytes = ENTRY_OVERHEAD + 64 + (long) path.length * Integer.BYTES + 2L * detail.length();
+        Stored stored = new Stored(result.getStatus(), path, result.getSteps(), result.getPeakFrontier(), detail);
+        store(new Key(maze.getFingerprint(), solver.getCacheKey()), new Entry(stored, bytes));
+    }
+
+    /**
+     * Retourne une valeur dérivée du contenu du labyrinthe (statistiques d'analyse...), sans la calculer.
+     * La valeur est partagée entre les appelants et ne doit pas être modifiée.
+     *
+     * @param maze Le labyrinthe.
+     * @param name Le nom de la valeur, distinct des clés d'algorithmes.
+     * @return La valeur, ou un Optional vide si elle n'est pas en cache.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getValue(Maze maze, String name) {
+        return Optional.ofNullable((T) lookup(new Key(maze.getFingerprint(), name)));
+    }
+
+    /**
+     * Conserve une valeur dérivée du contenu du labyrinthe. La valeur ne doit plus être modifiée ; elle
+     * ne doit pas non plus retenir le labyrinthe, qui n'est pas compté dans sa taille.
+     *
+     * @param maze  Le labyrinthe, dans l'état où la valeur a été calculée.
+     * @param name  Le nom de la valeur, distinct des clés d'algorithmes.
+     * @param value La valeur.
+     * @param bytes La taille estimée de la valeur, en octets.
+     */
+    public void putValue(Maze maze, String name, Object value, long bytes) {
+        store(new Key(maze.getFingerprint(), name), new Entry(value, ENTRY_OVERHEAD + bytes));
+    }
+
+    private synchronized Object lookup(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    private synchronized void store(Key key, Entry entry) {
+        if (entry.bytes() > capacityBytes) {
+            return; // Trop gros pour le cache : il l'aurait vidé entièrement
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            sizeBytes -= previous.bytes();
+        }
+        sizeBytes += entry.bytes();
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (sizeBytes > capacityBytes) {
+            sizeBytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Vide le cache. Les compteurs sont conservés.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    /**
+     * @return Le nombre de valeurs servies depuis le cache.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Le nombre de recherches infructueuses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Le nombre d'entrées évincées pour respecter la capacité.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return Le nombre d'entrées.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return La taille estimée des entrées, en octets.
+     */
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * @return La taille maximale estimée des entrées, en octets.
+     */
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * @return Un résumé des compteurs, pour l'affichage.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("%d entrées, %.1f Ko, %d succès, %d échecs, %d évictions",
+                entries.size(), sizeBytes / 1024.0, hits, misses, evictions);
+    }
+}
@@ -0,0 +1,65 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+
+/**
+ * Algorithme de résolution de labyrinthe.
+ * <p>
+ * Les implémentations déclarées dans {@code META-INF/services/fr.esisar.labyrinthe.algorithm.Solver}
+ * sont découvertes par {@link SolverRegistry} et apparaissent automatiquement dans l'interface,
+ * l'analyseur et les outils de traitement par lots. Une implémentation doit donc avoir un
+ * constructeur public sans argument et pouvoir être utilisée depuis plusieurs threads.
+ * <p>
+ * Une implémentation commence par consulter {@link ConnectedComponents#isKnownUnreachable(Maze)} :
+ * si les composantes du labyrinthe sont en cache et séparent le départ de l'arrivée, elle retourne
+ * immédiatement un résultat {@link SolverResult.Status#NO_PATH} sans explorer. Elle consulte ensuite
+ * son {@link SolverBudget} dans sa boucle principale et retourne un résultat partiel
+ * ({@link SolverResult#stopped}) dès qu'il est épuisé.
+ */
+public interface Solver {
+    /**
+     * Retourne le nom affiché de l'algorithme, unique parmi les algorithmes enregistrés.
+     *
+     * @return Le nom de l'algorithme.
+     */
+    String getName();
+
+    /**
+     * Retourne l'identifiant des résultats de cette instance dans {@link SolveCache} : deux instances de
+     * même clé doivent retourner le même résultat sur un même labyrinthe. Par défaut, c'est le nom ;
+     * une implémentation paramétrée y ajoute ses paramètres.
+     *
+     * @return La clé de cache de l'instance.
+     */
+    default String getCacheKey() {
+        return getName();
+    }
+
+    /**
+     * Retourne les caractéristiques de l'algorithme.
+     *
+     * @return Les capacités de l'algorithme.
+     */
+    SolverCapabilities getCapabilities();
+
+    /**
+     * Résout le labyrinthe sans limite.
+     *
+     * @param maze Le labyrinthe à résoudre.
+     * @return Un objet SolverResult contenant le chemin trouvé ou le statut {@link SolverResult.Status#NO_PATH},
+     *         et le nombre d'étapes effectuées.
+     */
+    default SolverResult solve(Maze maze) {
+        return solve(maze, SolverBudget.UNLIMITED);
+    }
+
+    /**
+     * Résout le labyrinthe dans les limites du budget donné.
+     *
+     * @param maze   Le labyrinthe à résoudre.
+     * @param budget Les limites de la résolution.
+     * @return Un objet SolverResult contenant le chemin trouvé ou le statut {@link SolverResult.Status#NO_PATH},
+     *         ou un résultat partiel dont le statut donne la raison de l'arrêt si le budget est épuisé.
+     */
+    SolverResult solve(Maze maze, SolverBudget budget);
+}
@@ -0,0 +1,160 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import java.time.Duration;
+
+/**
+ * Limites d'une résolution : nombre maximal de cellules (ou de nœuds) développées, échéance et
+ * jeton d'annulation.
+ * <p>
+ * Un budget est immuable et se construit à partir de {@link #UNLIMITED} :
+ * <pre>{@code
+ * SolverBudget budget = SolverBudget.UNLIMITED
+ *         .withMaxSteps(1_000_000)
+ *         .withTimeout(Duration.ofMillis(200))
+ *         .withToken(token);
+ * }</pre>
+ * L'échéance est fixée à la construction par {@link #withTimeout(Duration)} : un budget est donc
+ * destiné à une résolution (ou à un lot de résolutions qui partagent le même délai).
+ * <p>
+ * Les solveurs appellent {@link #isExhausted(int)} avant chaque développement. Le nombre d'étapes est
+ * comparé à chaque appel ; l'horloge et le jeton, plus coûteux, ne sont consultés que toutes les
+ * {@link #CHECK_INTERVAL} étapes. Les solveurs qui développent un niveau entier d'un coup appellent
+ * {@link #isExhaustedNow(int)} avant chaque niveau et chaque tranche de niveau. Un solveur arrêté
+ * retourne un résultat partiel ({@link SolverResult#stopped}) dont le statut donne la raison de
+ * l'arrêt ({@link #stopReason(int)}).
+ * <p>
+ * Les structures préalables d'une résolution (hiérarchie, index de repères, graphes, remplissage)
+ * sont construites dans les limites de l'échéance et du jeton, vérifiés par {@link #checkBuild()} ;
+ * leur travail n'est pas compté en étapes. Une construction interrompue n'est pas mise en cache, et la
+ * résolution retourne un résultat partiel.
+ */
+public final class SolverBudget {
+    /**
+     * Nombre d'étapes entre deux consultations de l'horloge et du jeton (une puissance de 2).
+     */
+    public static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Budget sans aucune limite, utilisé par {@link Solver#solve(fr.esisar.labyrinthe.model.Maze)}.
+     */
+    public static final SolverBudget UNLIMITED = new SolverBudget(Integer.MAX_VALUE, 0, false, null);
+
+    private final int maxSteps;
+    private final long deadline;          // Échéance selon System.nanoTime(), valable si hasDeadline
+    private final boolean hasDeadline;
+    private final CancellationToken token; // null : pas d'annulation possible
+
+    private SolverBudget(int maxSteps, long deadline, boolean hasDeadline, CancellationToken token) {
+        this.maxSteps = maxSteps;
+        this.deadline = deadline;
+        this.hasDeadline = hasDeadline;
+        this.token = token;
+    }
+
+    /**
+     * Retourne un budget limité au nombre d'étapes donné.
+     *
+     * @param maxSteps Le nombre maximal de cellules ou de nœuds développés.
+     * @return Le nouveau budget.
+     * @throws IllegalArgumentException si le nombre d'étapes est négatif.
+     */
+    public SolverBudget withMaxSteps(int maxSteps) {
+        if (maxSteps < 0) {
+            throw new IllegalArgumentException("Nombre d'étapes négatif : " + maxSteps);
+        }
+        return new SolverBudget(maxSteps, deadline, hasDeadline, token);
+    }
+
+    /**
+     * Retourne un budget dont l'échéance tombe après le délai donné, compté à partir de maintenant.
+     *
+     * @param timeout Le délai.
+     * @return Le nouveau budget.
+     * @throws IllegalArgumentException si le délai est négatif.
+     */
+    public SolverBudget withTimeout(Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Délai négatif : " + timeout);
+        }
+        long nanos = timeout.compareTo(Duration.ofNanos(Long.MAX_VALUE / 2)) > 0
+                ? Long.MAX_VALUE / 2 : timeout.toNanos(); // Évite le débordement de l'échéance
+        return new SolverBudget(maxSteps, System.nanoTime() + nanos, true, token);
+    }
+
+    /**
+     * Retourne un budget interrompu par le jeton donné.
+     *
+     * @param token Le jeton d'annulation, ou null pour ne plus en utiliser.
+     * @return Le nouveau budget.
+     */
+    public SolverBudget withToken(CancellationToken token) {
+        return new SolverBudget(maxSteps, deadline, hasDeadline, token);
+    }
+
+    /**
+     * @return Le nombre maximal de cellules ou de nœuds développés.
+     */
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * Indique si la résolution doit s'arrêter avant de développer une nouvelle cellule. L'horloge et le
+     * jeton ne sont consultés que si {@code steps} est un multiple de {@link #CHECK_INTERVAL}.
+     *
+     * @param steps Le nombre de cellules ou de nœuds déjà développés.
+     * @return {@code true} si le budget est épuisé.
+     */
+    public boolean isExhausted(int steps) {
+        return steps >= maxSteps || ((steps & (CHECK_INTERVAL - 1)) == 0 && isInterrupted());
+    }
+
+    /**
+     * Comme {@link #isExhausted(int)}, mais l'horloge et le jeton sont toujours consultés.
+     *
+     * @param steps Le nombre de cellules ou de nœuds déjà développés.
+     * @return {@code true} si le budget est épuisé.
+     */
+    public boolean isExhaustedNow(int steps) {
+        return steps >= maxSteps || isInterrupted();
+    }
+
+    /**
+     * Vérifie, pendant la construction d'une structure préalable, que l'échéance n'est pas dépassée et
+     * que le jeton n'est pas annulé. L'horloge et le jeton sont consultés à chaque appel : l'appelant
+     * l'espace lui-même, par exemple toutes les {@link #CHECK_INTERVAL} cellules.
+     *
+     * @throws BuildInterruptedException si la construction doit être abandonnée.
+     */
+    void checkBuild() {
+        if (isInterrupted()) {
+            throw new BuildInterruptedException();
+        }
+    }
+
+    private boolean isInterrupted() {
+        return (token != null && token.isCancelled()) || (hasDeadline && System.nanoTime() - deadline >= 0);
+    }
+
+    /**
+     * Retourne la raison de l'arrêt d'une résolution dont le budget est épuisé. L'annulation l'emporte
+     * sur l'échéance, qui l'emporte sur le nombre d'étapes.
+     *
+     * @param steps Le nombre d'étapes passé à {@link #isExhausted(int)}.
+     * @return {@link SolverResult.Status#CANCELLED}, {@link SolverResult.Status#TIMED_OUT} ou
+     *         {@link SolverResult.Status#STEP_LIMIT}.
+     * @throws IllegalStateException si le budget n'est pas épuisé.
+     */
+    public SolverResult.Status stopReason(int steps) {
+        if (token != null && token.isCancelled()) {
+            return SolverResult.Status.CANCELLED;
+        }
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            return SolverResult.Status.TIMED_OUT;
+        }
+        if (steps >= maxSteps) {
+            return SolverResult.Status.STEP_LIMIT;
+        }
+        throw new IllegalStateException("Budget non épuisé après " + steps + " étapes");
+    }
+}
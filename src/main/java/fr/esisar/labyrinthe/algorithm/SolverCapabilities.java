@@ -0,0 +1,51 @@
+package fr.esisar.labyrinthe.algorithm;
+
+/**
+ * Caractéristiques d'un {@link Solver}.
+ *
+ * @param optimal         {@code true} si le chemin trouvé est toujours un plus court chemin.
+ * @param memory          L'ordre de grandeur de la mémoire utilisée par cellule.
+ * @param parallel        {@code true} si la résolution utilise plusieurs threads.
+ * @param supportsWeights {@code true} si l'algorithme sait tenir compte de coûts de passage par cellule.
+ */
+public record SolverCapabilities(boolean optimal, MemoryClass memory, boolean parallel, boolean supportsWeights) {
+    /**
+     * Ordre de grandeur de la mémoire utilisée par cellule du labyrinthe.
+     */
+    public enum MemoryClass {
+        /** Quelques bits ou octets par cellule. */
+        COMPACT,
+        /** Quelques entiers primitifs par cellule. */
+        FLAT,
+        /** Des objets alloués par cellule ({@code Point}, collections). */
+        OBJECTS
+    }
+
+    /**
+     * Construit les caractéristiques d'un algorithme séquentiel sans pondération.
+     *
+     * @param optimal {@code true} si le chemin trouvé est toujours un plus court chemin.
+     * @param memory  L'ordre de grandeur de la mémoire utilisée par cellule.
+     * @return Les caractéristiques correspondantes.
+     */
+    public static SolverCapabilities sequential(boolean optimal, MemoryClass memory) {
+        return new SolverCapabilities(optimal, memory, false, false);
+    }
+
+    /**
+     * Retourne une description courte, par exemple « optimal, mémoire plate, parallèle ».
+     *
+     * @return La description des caractéristiques.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder(optimal ? "optimal" : "non optimal");
+        sb.append(", mémoire ").append(switch (memory) {
+            case COMPACT -> "compacte";
+            case FLAT -> "plate";
+            case OBJECTS -> "objets";
+        });
+        if (parallel) sb.append(", parallèle");
+        if (supportsWeights) sb.append(", pondéré");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Registre des algorithmes de résolution disponibles.
+ * <p>
+ * Les algorithmes sont découverts une seule fois par {@link ServiceLoader}, dans l'ordre des
+ * fichiers {@code META-INF/services/fr.esisar.labyrinthe.algorithm.Solver} : il suffit d'y déclarer
+ * une nouvelle implémentation de {@link Solver} pour qu'elle soit proposée partout.
+ */
+public final class SolverRegistry {
+    private static final Map<String, Solver> SOLVERS = load();
+
+    private SolverRegistry() {
+    }
+
+    /**
+     * Retourne tous les algorithmes enregistrés, dans l'ordre de déclaration.
+     *
+     * @return La liste non modifiable des algorithmes.
+     */
+    public static List<Solver> getSolvers() {
+        return Collections.unmodifiableList(new ArrayList<>(SOLVERS.values()));
+    }
+
+    /**
+     * Retourne les noms de tous les algorithmes enregistrés, dans l'ordre de déclaration.
+     *
+     * @return La liste non modifiable des noms.
+     */
+    public static List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(SOLVERS.keySet()));
+    }
+
+    /**
+     * Recherche un algorithme par son nom.
+     *
+     * @param name Le nom de l'algorithme.
+     * @return L'algorithme, ou un Optional vide s'il n'est pas enregistré.
+     */
+    public static Optional<Solver> find(String name) {
+        return Optional.ofNullable(SOLVERS.get(name));
+    }
+
+    /**
+     * Retourne l'algorithme portant le nom donné.
+     *
+     * @param name Le nom de l'algorithme.
+     * @return L'algorithme correspondant.
+     * @throws IllegalArgumentException si aucun algorithme ne porte ce nom.
+     */
+    public static Solver get(String name) {
+        return find(name).orElseThrow(() -> new IllegalArgumentException("Algorithme inconnu : " + name));
+    }
+
+    private static Map<String, Solver> load() {
+        Map<String, Solver> solvers = new LinkedHashMap<>();
+        for (Solver solver : ServiceLoader.load(Solver.class, Solver.class.getClassLoader())) {
+            if (solvers.putIfAbsent(solver.getName(), solver) != null) {
+                throw new IllegalStateException("Deux algorithmes portent le nom « " + solver.getName() + " »");
+            }
+        }
+        return Collections.unmodifiableMap(solvers);
+    }
+}
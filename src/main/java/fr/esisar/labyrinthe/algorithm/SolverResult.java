@@ -1,35 +1,254 @@
 package fr.esisar.labyrinthe.algorithm;
 
+import fr.esisar.labyrinthe.model.Maze;
+
 /**
  * Représente le résultat d'un algorithme de résolution de labyrinthe.
- * Contient la grille résolue et le nombre d'étapes nécessaires pour résoudre le labyrinthe.
+ * <p>
+ * Le chemin est conservé sous forme compacte : la suite des indices de cellules aplatis
+ * ({@code ligne * colonnes + colonne}) du départ à l'arrivée. La grille marquée de '+' n'est
+ * construite qu'à la demande par {@link #getGrid()} ; {@link #getCell(int, int)} permet de lire
+ * la grille marquée sans la construire.
+ * <p>
+ * L'issue de la recherche est donnée explicitement par {@link #getStatus()}. Une recherche arrêtée
+ * par son {@link SolverBudget} retourne un résultat partiel : sans chemin, mais avec le nombre
+ * d'étapes effectuées et la taille maximale de la frontière atteinte avant l'arrêt.
  */
 public class SolverResult {
-    private final char[][] grid;  // La grille résolue
-    private final int steps;     // Le nombre d'étapes nécessaires pour résoudre le labyrinthe
+    /**
+     * Issue d'une recherche.
+     */
+    public enum Status {
+        /**
+         * Un chemin du départ à l'arrivée a été trouvé.
+         */
+        FOUND,
+        /**
+         * L'arrivée est inaccessible depuis le départ : il n'existe aucun chemin.
+         */
+        NO_PATH,
+        /**
+         * La recherche a été arrêtée après le nombre maximal d'étapes de son budget.
+         */
+        STEP_LIMIT,
+        /**
+         * La recherche a été arrêtée à l'échéance de son budget.
+         */
+        TIMED_OUT,
+        /**
+         * La recherche a été arrêtée par le jeton d'annulation de son budget.
+         */
+        CANCELLED
+    }
+
+    private static final int[] NO_PATH = new int[0];
+
+    private final Maze maze;          // Le labyrinthe résolu
+    private final Status status;      // L'issue de la recherche
+    private final int[] path;         // Cellules du chemin, départ et arrivée inclus ; vide sans solution
+    private final int steps;          // Le nombre de cellules développées
+    private final int peakFrontier;   // La taille maximale de la frontière (file, pile ou tas)
+    private char[][] grid;            // La grille marquée, construite à la demande
+    private long[] pathBits;          // Les cellules du chemin, construites à la demande pour getCell
+
+    /**
+     * Construit un résultat.
+     *
+     * @param maze         Le labyrinthe résolu.
+     * @param path         Les cellules du chemin du départ à l'arrivée inclus, ou un tableau vide s'il
+     *                     n'y a pas de solution. Le tableau est conservé tel quel.
+     * @param steps        Le nombre de cellules développées.
+     * @param peakFrontier La taille maximale de la frontière au cours de la recherche.
+     */
+    protected SolverResult(Maze maze, int[] path, int steps, int peakFrontier) {
+        this(maze, path.length > 0 ? Status.FOUND : Status.NO_PATH, path, steps, peakFrontier);
+    }
 
     /**
-     * Construit un objet SolverResult avec la grille résolue et le nombre d'étapes.
+     * Construit un résultat de statut donné.
      *
-     * @param grid  La grille résolue (tableau 2D de caractères représentant le labyrinthe).
-     * @param steps Le nombre d'étapes nécessaires pour résoudre le labyrinthe.
+     * @param maze         Le labyrinthe résolu.
+     * @param status       L'issue de la recherche.
+     * @param path         Les cellules du chemin du départ à l'arrivée inclus, ou un tableau vide si le
+     *                     statut n'est pas {@link Status#FOUND}. Le tableau est conservé tel quel.
+     * @param steps        Le nombre de cellules développées.
+     * @param peakFrontier La taille maximale de la frontière au cours de la recherche.
      */
-    public SolverResult(char[][] grid, int steps) {
-        this.grid = grid;
+    protected SolverResult(Maze maze, Status status, int[] path, int steps, int peakFrontier) {
+        this.maze = maze;
+        this.status = status;
+        this.path = path;
         this.steps = steps;
+        this.peakFrontier = peakFrontier;
+    }
+
+    /**
+     * Construit le résultat d'une recherche qui a trouvé un chemin.
+     *
+     * @param maze         Le labyrinthe résolu.
+     * @param path         Les cellules du chemin du départ à l'arrivée inclus. Le tableau est conservé tel quel.
+     * @param steps        Le nombre de cellules développées.
+     * @param peakFrontier La taille maximale de la frontière au cours de la recherche.
+     * @return Le résultat correspondant.
+     */
+    public static SolverResult found(Maze maze, int[] path, int steps, int peakFrontier) {
+        return new SolverResult(maze, path, steps, peakFrontier);
+    }
+
+    /**
+     * Construit le résultat d'une recherche sans solution.
+     *
+     * @param maze         Le labyrinthe résolu.
+     * @param steps        Le nombre de cellules développées.
+     * @param peakFrontier La taille maximale de la frontière au cours de la recherche.
+     * @return Le résultat correspondant.
+     */
+    public static SolverResult notFound(Maze maze, int steps, int peakFrontier) {
+        return new SolverResult(maze, NO_PATH, steps, peakFrontier);
+    }
+
+    /**
+     * Construit le résultat partiel d'une recherche arrêtée par son budget.
+     *
+     * @param maze         Le labyrinthe résolu.
+     * @param reason       La raison de l'arrêt, donnée par {@link SolverBudget#stopReason(int)}.
+     * @param steps        Le nombre de cellules développées avant l'arrêt.
+     * @param peakFrontier La taille maximale de la frontière avant l'arrêt.
+     * @return Le résultat correspondant, sans chemin.
+     * @throws IllegalArgumentException si la raison est {@link Status#FOUND} ou {@link Status#NO_PATH}.
+     */
+    public static SolverResult stopped(Maze maze, Status reason, int steps, int peakFrontier) {
+        if (reason == Status.FOUND || reason == Status.NO_PATH) {
+            throw new IllegalArgumentException("Raison d'arrêt invalide : " + reason);
+        }
+        return new SolverResult(maze, reason, NO_PATH, steps, peakFrontier);
+    }
+
+    /**
+     * Remonte un tableau de parents aplati de l'arrivée jusqu'au départ.
+     *
+     * @param parent Le parent de chaque cellule.
+     * @param start  L'indice aplati du départ.
+     * @param end    L'indice aplati de l'arrivée.
+     * @return Les cellules du chemin du départ à l'arrivée inclus.
+     */
+    static int[] pathFromParents(int[] parent, int start, int end) {
+        int length = 1;
+        for (int current = end; current != start; current = parent[current]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int i = length - 1, current = end; i >= 0; i--, current = parent[current]) {
+            path[i] = current;
+        }
+        return path;
+    }
+
+    /**
+     * Retourne l'issue de la recherche.
+     *
+     * @return {@link Status#FOUND} si un chemin a été trouvé, {@link Status#NO_PATH} s'il n'en existe
+     *         aucun, ou la raison de l'arrêt si le budget a été épuisé avant de conclure.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Indique si un chemin a été trouvé.
+     *
+     * @return {@code true} si l'arrivée a été atteinte.
+     */
+    public boolean isFound() {
+        return status == Status.FOUND;
     }
 
     /**
-     * Retourne la grille résolue.
+     * Indique si la recherche a été arrêtée par son budget avant de conclure.
+     *
+     * @return {@code true} pour les statuts {@link Status#STEP_LIMIT}, {@link Status#TIMED_OUT} et
+     *         {@link Status#CANCELLED}.
+     */
+    public boolean isStopped() {
+        return status != Status.FOUND && status != Status.NO_PATH;
+    }
+
+    /**
+     * Retourne une copie du chemin.
+     *
+     * @return Les indices aplatis des cellules du chemin, départ et arrivée inclus, ou un tableau vide.
+     */
+    public int[] getPath() {
+        return path.clone();
+    }
+
+    /**
+     * Retourne la longueur du chemin, c'est-à-dire le nombre de cellules marquées '+'
+     * (départ et arrivée exclus).
+     *
+     * @return La longueur du chemin, 0 s'il n'y a pas de solution.
+     */
+    public int getPathLength() {
+        return Math.max(0, path.length - 2);
+    }
+
+    /**
+     * Retourne le labyrinthe résolu.
+     *
+     * @return Le labyrinthe.
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Retourne la grille résolue, construite au premier appel : c'est une copie complète du labyrinthe,
+     * à éviter sur les très grandes grilles au profit de {@link #getPath()} ou {@link #getCell(int, int)}.
+     * Sans solution, c'est la grille du labyrinthe elle-même.
      *
      * @return Le tableau 2D de caractères représentant le labyrinthe résolu.
      */
-    public char[][] getGrid() {
+    public synchronized char[][] getGrid() {
+        if (grid == null) {
+            if (!isFound()) {
+                grid = maze.getGrid();
+            } else {
+                grid = maze.copyGrid();
+                int cols = maze.getCols();
+                for (int i = 1; i < path.length - 1; i++) {
+                    grid[path[i] / cols][path[i] % cols] = '+';
+                }
+            }
+        }
         return grid;
     }
 
     /**
-     * Retourne le nombre d'étapes nécessaires pour résoudre le labyrinthe.
+     * Retourne le contenu d'une cellule de la grille résolue sans construire la grille :
+     * '+' pour une cellule du chemin, sinon le contenu de {@link Maze#getCell(int, int)}.
+     *
+     * @param x La ligne.
+     * @param y La colonne.
+     * @return Le caractère de la cellule.
+     */
+    public synchronized char getCell(int x, int y) {
+        if (path.length > 2) {
+            if (pathBits == null) {
+                pathBits = new long[(maze.getRows() * maze.getCols() + 63) >>> 6];
+                for (int i = 1; i < path.length - 1; i++) {
+                    pathBits[path[i] >>> 6] |= 1L << path[i];
+                }
+            }
+            int cell = x * maze.getCols() + y;
+            if ((pathBits[cell >>> 6] & (1L << cell)) != 0) {
+                return '+';
+            }
+        }
+        return maze.getCell(x, y);
+    }
+
+    /**
+     * Retourne le nombre de cellules développées pour résoudre le labyrinthe.
      *
      * @return Le nombre d'étapes sous forme d'entier.
      */
@@ -37,6 +256,24 @@ public class SolverResult {
         return steps;
     }
 
+    /**
+     * Retourne la taille maximale atteinte par la frontière (file, pile ou file de priorité).
+     *
+     * @return La taille maximale de la frontière.
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Retourne une précision propre à l'algorithme, affichée après son nom (vide par défaut).
+     *
+     * @return La précision, commençant par un espace si elle n'est pas vide.
+     */
+    public String getDetail() {
+        return "";
+    }
+
     /**
      * Retourne une représentation textuelle de l'objet SolverResult.
      *
@@ -45,11 +282,17 @@ public class SolverResult {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
+        sb.append("Statut: ").append(status).append("\n");
         sb.append("Étapes: ").append(steps).append("\n");
+        sb.append("Longueur du chemin: ").append(getPathLength()).append("\n");
         sb.append("Grille:\n");
-        for (char[] row : grid) {
-            sb.append(new String(row)).append("\n");
+        for (int i = 0; i < maze.getRows(); i++) {
+            for (int j = 0; j < maze.getCols(); j++) {
+                sb.append(getCell(i, j));
+            }
+            sb.append("\n");
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+}
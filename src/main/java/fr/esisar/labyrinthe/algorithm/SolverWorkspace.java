@@ -0,0 +1,159 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Espace de travail réutilisable des solveurs sur tableaux plats, un par thread.
+ * <p>
+ * Les tableaux indexés par cellule sont conservés d'une résolution à l'autre tant que le labyrinthe
+ * n'est pas plus grand que le précédent. Les marques « visitée » ne sont pas effacées : chaque
+ * résolution reçoit un nouveau numéro d'époque, et une cellule n'est marquée que si son tampon vaut
+ * l'époque courante. L'effacement est donc en O(1), et deux résolutions successives n'allouent
+ * rien d'autre que leur résultat.
+ * <p>
+ * Les tableaux d'entiers ({@link #ints(int)}) ne sont pas effacés non plus : une valeur ne doit être
+ * lue que pour une cellule marquée pendant la résolution courante.
+ * <p>
+ * Utilisation :
+ * <pre>{@code
+ * try (SolverWorkspace workspace = SolverWorkspace.acquire(rows * cols)) {
+ *     ...
+ * }
+ * }</pre>
+ * Si l'espace du thread est déjà utilisé (un solveur qui en appelle un autre), {@link #acquire(int)}
+ * retourne un espace temporaire, non conservé.
+ */
+final class SolverWorkspace implements AutoCloseable {
+    /**
+     * Nombre de couches de marques disponibles (par exemple « découverte » et « fermée »).
+     */
+    static final int MARK_LAYERS = 2;
+
+    /**
+     * Nombre de tableaux d'entiers disponibles.
+     */
+    static final int INT_SLOTS = 6;
+
+    /**
+     * Capacité initiale de la pile ; elle grandit à la demande et garde sa taille ensuite.
+     */
+    private static final int INITIAL_STACK_CAPACITY = 1024;
+
+    private static final ThreadLocal<SolverWorkspace> CURRENT = ThreadLocal.withInitial(SolverWorkspace::new);
+
+    private final int[][] marks = new int[MARK_LAYERS][];
+    private final int[][] ints = new int[INT_SLOTS][];
+    private IntStack stack;
+    private BucketQueue bucketQueue;
+    private int capacity;     // Nombre de cellules couvertes par les tableaux
+    private int epoch;        // Tampon des cellules marquées pendant la résolution courante
+    private boolean inUse;
+
+    private SolverWorkspace() {
+    }
+
+    /**
+     * Réserve l'espace de travail du thread courant pour un labyrinthe de {@code cells} cellules.
+     * Toutes les marques sont effacées et la pile et la file à seaux sont vidées.
+     *
+     * @param cells Le nombre de cellules du labyrinthe.
+     * @return L'espace de travail, à fermer après la résolution.
+     */
+    static SolverWorkspace acquire(int cells) {
+        SolverWorkspace workspace = CURRENT.get();
+        if (workspace.inUse) {
+            workspace = new SolverWorkspace();
+        }
+        workspace.prepare(cells);
+        workspace.inUse = true;
+        return workspace;
+    }
+
+    /**
+     * Libère les tableaux conservés par le thread courant, par exemple après avoir résolu un très
+     * grand labyrinthe.
+     */
+    static void release() {
+        CURRENT.remove();
+    }
+
+    private void prepare(int cells) {
+        if (cells > capacity) {
+            // Les tableaux trop petits sont abandonnés et réalloués à la demande.
+            Arrays.fill(marks, null);
+            Arrays.fill(ints, null);
+            capacity = cells;
+            epoch = 0;
+        }
+        if (epoch == Integer.MAX_VALUE) {
+            // Les tampons vont reboucler : on efface vraiment les marques, une fois toutes les 2^31 résolutions.
+            for (int[] layer : marks) {
+                if (layer != null) Arrays.fill(layer, 0);
+            }
+            epoch = 0;
+        }
+        epoch++;
+        if (stack != null) stack.clear();
+        if (bucketQueue != null) bucketQueue.clear();
+    }
+
+    /**
+     * Indique si la cellule a été marquée dans la couche donnée pendant la résolution courante.
+     */
+    boolean isMarked(int layer, int cell) {
+        int[] stamps = marks[layer];
+        return stamps != null && stamps[cell] == epoch;
+    }
+
+    /**
+     * Marque la cellule dans la couche donnée.
+     */
+    void mark(int layer, int cell) {
+        int[] stamps = marks[layer];
+        if (stamps == null) {
+            stamps = new int[capacity];
+            marks[layer] = stamps;
+        }
+        stamps[cell] = epoch;
+    }
+
+    /**
+     * Retourne un tableau d'entiers d'au moins autant de cases que de cellules, au contenu indéfini.
+     *
+     * @param slot Le numéro du tableau, entre 0 et {@link #INT_SLOTS} exclu.
+     * @return Le tableau.
+     */
+    int[] ints(int slot) {
+        int[] values = ints[slot];
+        if (values == null) {
+            values = new int[capacity];
+            ints[slot] = values;
+        }
+        return values;
+    }
+
+    /**
+     * Retourne la pile d'entiers de l'espace, vide au début de chaque résolution.
+     */
+    IntStack stack() {
+        if (stack == null) {
+            stack = new IntStack(INITIAL_STACK_CAPACITY);
+        }
+        return stack;
+    }
+
+    /**
+     * Retourne la file à seaux de l'espace, vide au début de chaque résolution.
+     */
+    BucketQueue bucketQueue() {
+        if (bucketQueue == null) {
+            bucketQueue = new BucketQueue();
+        }
+        return bucketQueue;
+    }
+
+    @Override
+    public void close() {
+        inUse = false;
+    }
+}
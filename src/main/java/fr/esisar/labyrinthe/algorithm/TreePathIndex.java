@@ -0,0 +1,236 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+
+/**
+ * Index de chemins pour les labyrinthes parfaits, dont les cellules libres forment un arbre
+ * (c'est le cas des labyrinthes produits par le retour en arrière récursif, Prim et Kruskal).
+ * Le chemin entre deux cellules y est unique : il passe par leur plus proche ancêtre commun.
+ * <p>
+ * La construction enracine chaque composante de cellules libres par un parcours en largeur et range,
+ * pour chaque cellule, son parent, sa profondeur et un pointeur de saut (schéma de Myers, en binaire
+ * oblique) dans trois {@code int[]}. Avec seulement 12 octets par cellule, la recherche d'un ancêtre
+ * ou du plus proche ancêtre commun se fait en O(log n) : la distance entre deux cellules est donc
+ * obtenue en O(log n) et le chemin en O(longueur du chemin).
+ * <p>
+ * Si le labyrinthe contient un cycle, l'index le détecte à la construction ({@link #isTree()} retourne
+ * alors {@code false}) et les requêtes sont confiées à un {@link MultiQuerySolver}.
+ * <p>
+ * Le labyrinthe ne doit pas être modifié tant que l'index est utilisé.
+ */
+public class TreePathIndex {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int UNREACHABLE = -1;
+    private static final int VISITED = 0;   // Couche de marques des cellules déjà enracinées
+    private static final int QUEUE = 0;     // Tableau de l'espace de travail
+
+    private final Maze maze;
+    private final int[] parent;   // Parent dans l'arbre ; une racine est son propre parent
+    private final int[] depth;    // Profondeur depuis la racine de la composante
+    private final int[] jump;     // Ancêtre atteint par un saut
+    private final MultiQuerySolver fallback; // Utilisé si le labyrinthe n'est pas un arbre
+
+    /**
+     * Construit l'index, en O(nombre de cellules).
+     *
+     * @param maze Le labyrinthe à indexer.
+     */
+    public TreePathIndex(Maze maze) {
+        this.maze = maze;
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int cells = rows * cols;
+        int[] parent = new int[cells];
+        int[] depth = new int[cells];
+        int[] jump = new int[cells];
+
+        boolean tree = true;
+        try (SolverWorkspace workspace = SolverWorkspace.acquire(cells)) {
+            int[] queue = workspace.ints(QUEUE);
+            for (int root = 0; root < cells && tree; root++) {
+                if (workspace.isMarked(VISITED, root) || maze.isWall(root / cols, root % cols)) {
+                    continue;
+                }
+                // Nouvelle composante : parcours en largeur depuis sa première cellule.
+                parent[root] = root;
+                jump[root] = root;
+                workspace.mark(VISITED, root);
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = root;
+                while (head < tail && tree) {
+                    int current = queue[head++];
+                    int x = current / cols;
+                    int y = current - x * cols;
+                    for (int[] dir : DIRECTIONS) {
+                        int nx = x + dir[0];
+                        int ny = y + dir[1];
+                        if (maze.isWall(nx, ny)) {
+                            continue;
+                        }
+                        int next = nx * cols + ny;
+                        if (next == parent[current]) {
+                            continue;
+                        }
+                        if (workspace.isMarked(VISITED, next)) {
+                            tree = false; // Une cellule déjà atteinte par un autre chemin : cycle
+                            break;
+                        }
+                        workspace.mark(VISITED, next);
+                        parent[next] = current;
+                        depth[next] = depth[current] + 1;
+                        jump[next] = jumpTarget(depth, jump, current);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+
+        if (tree) {
+            this.parent = parent;
+            this.depth = depth;
+            this.jump = jump;
+            this.fallback = null;
+        } else {
+            this.parent = null;
+            this.depth = null;
+            this.jump = null;
+            this.fallback = new MultiQuerySolver(maze);
+        }
+    }
+
+    /**
+     * Pointeur de saut d'un enfant de {@code p} : si les deux sauts qui partent de {@code p} couvrent
+     * la même hauteur, l'enfant saute par-dessus les deux ; sinon il saute vers {@code p}.
+     */
+    private static int jumpTarget(int[] depth, int[] jump, int p) {
+        int j = jump[p];
+        if (depth[p] - depth[j] == depth[j] - depth[jump[j]]) {
+            return jump[j];
+        }
+        return p;
+    }
+
+    /**
+     * Indique si les cellules libres du labyrinthe forment un arbre (ou une forêt).
+     *
+     * @return {@code true} si les requêtes sont servies par l'index.
+     */
+    public boolean isTree() {
+        return fallback == null;
+    }
+
+    /**
+     * Retourne la longueur du chemin entre deux cellules, en nombre de déplacements.
+     *
+     * @param start La cellule de départ.
+     * @param end   La cellule d'arrivée.
+     * @return La distance, ou -1 si les cellules ne sont pas reliées.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public int distance(Point start, Point end) {
+        if (fallback != null) {
+            return fallback.distance(start, end);
+        }
+        int a = cellIndex(start);
+        int b = cellIndex(end);
+        if (maze.isWall(start.x(), start.y()) || maze.isWall(end.x(), end.y())) {
+            return UNREACHABLE;
+        }
+        int ancestor = commonAncestor(a, b);
+        return ancestor == UNREACHABLE ? UNREACHABLE : depth[a] + depth[b] - 2 * depth[ancestor];
+    }
+
+    /**
+     * Retourne le chemin entre deux cellules.
+     * Le nombre d'étapes du résultat est le nombre de cellules du chemin.
+     *
+     * @param start La cellule de départ.
+     * @param end   La cellule d'arrivée.
+     * @return Un SolverResult contenant le chemin du départ à l'arrivée inclus, s'il existe.
+     * @throws IllegalArgumentException si une des cellules est hors du labyrinthe.
+     */
+    public SolverResult solve(Point start, Point end) {
+        if (fallback != null) {
+            return fallback.solve(start, end);
+        }
+        int a = cellIndex(start);
+        int b = cellIndex(end);
+        if (maze.isWall(start.x(), start.y()) || maze.isWall(end.x(), end.y())) {
+            return SolverResult.notFound(maze, 0, 0);
+        }
+        int ancestor = commonAncestor(a, b);
+        if (ancestor == UNREACHABLE) {
+            return SolverResult.notFound(maze, 0, 0);
+        }
+
+        // Montée depuis le départ jusqu'à l'ancêtre, puis depuis l'arrivée, rangée à l'envers.
+        int up = depth[a] - depth[ancestor];
+        int[] path = new int[up + depth[b] - depth[ancestor] + 1];
+        int current = a;
+        for (int i = 0; i <= up; i++) {
+            path[i] = current;
+            current = parent[current];
+        }
+        current = b;
+        for (int i = path.length - 1; i > up; i--) {
+            path[i] = current;
+            current = parent[current];
+        }
+        return SolverResult.found(maze, path, path.length, 0);
+    }
+
+    /**
+     * Résout le labyrinthe entre son départ et son arrivée.
+     *
+     * @return Le résultat, comme {@link #solve(Point, Point)}.
+     */
+    public SolverResult solve() {
+        return solve(maze.getStart(), maze.getEnd());
+    }
+
+    private int cellIndex(Point point) {
+        if (point.x() < 0 || point.x() >= maze.getRows() || point.y() < 0 || point.y() >= maze.getCols()) {
+            throw new IllegalArgumentException("Cellule hors du labyrinthe : " + point);
+        }
+        return point.x() * maze.getCols() + point.y();
+    }
+
+    /**
+     * Remonte la cellule jusqu'à son ancêtre de profondeur donnée, en O(log n).
+     */
+    private int ancestorAtDepth(int cell, int targetDepth) {
+        while (depth[cell] > targetDepth) {
+            cell = depth[jump[cell]] >= targetDepth ? jump[cell] : parent[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * Cherche le plus proche ancêtre commun de deux cellules, en O(log n).
+     *
+     * @return L'ancêtre commun, ou {@link #UNREACHABLE} si les cellules sont dans deux arbres différents.
+     */
+    private int commonAncestor(int a, int b) {
+        if (depth[a] > depth[b]) {
+            a = ancestorAtDepth(a, depth[b]);
+        } else {
+            b = ancestorAtDepth(b, depth[a]);
+        }
+        // À profondeur égale, les pointeurs de saut couvrent les mêmes hauteurs des deux côtés.
+        while (a != b) {
+            if (parent[a] == a) {
+                return UNREACHABLE; // Deux racines distinctes
+            }
+            if (jump[a] != jump[b]) {
+                a = jump[a];
+                b = jump[b];
+            } else {
+                a = parent[a];
+                b = parent[b];
+            }
+        }
+        return a;
+    }
+}
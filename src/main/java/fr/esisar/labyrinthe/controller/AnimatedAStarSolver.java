@@ -76,7 +76,6 @@ public class AnimatedAStarSolver {
         }
 
         isSolving = true;
-        char[][] grid = maze.getGrid();
         Point start = maze.getStart();
         Point end = maze.getEnd();
         int rows = maze.getRows();
@@ -142,7 +141,7 @@ public class AnimatedAStarSolver {
                     Point neighbor = new Point(nx, ny);
 
                     // Vérifier si le voisin est dans les limites et n'est pas un mur
-                    if (nx >= 0 && nx < rows && ny >= 0 && ny < cols && grid[nx][ny] != '#') {
+                    if (nx >= 0 && nx < rows && ny >= 0 && ny < cols && !maze.isWall(nx, ny)) {
                         int tentativeGScore = gScore.getOrDefault(current, Integer.MAX_VALUE) + 1;
 
                         // Si ce chemin vers le voisin est meilleur, mettre à jour les scores et le chemin
@@ -184,10 +183,7 @@ public class AnimatedAStarSolver {
      * @return Une copie de la grille avec le chemin marqué.
      */
     private char[][] reconstructPathAnimated(Map<Point, Point> cameFrom, Point end, CompletableFuture<char[][]> future) {
-        char[][] grid = maze.getGrid().clone();
-        for (int i = 0; i < grid.length; i++) {
-            grid[i] = grid[i].clone();
-        }
+        char[][] grid = maze.copyGrid();
 
         List<Point> path = new ArrayList<>();
         Point current = end;
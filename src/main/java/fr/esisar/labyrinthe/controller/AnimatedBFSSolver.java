@@ -87,7 +87,6 @@ public class AnimatedBFSSolver {
         }
 
         isSolving = true;
-        char[][] grid = maze.getGrid();
         Point start = maze.getStart();
         Point end = maze.getEnd();
         int rows = maze.getRows();
@@ -141,7 +140,7 @@ public class AnimatedBFSSolver {
                     int ny = current.y() + dir[1];
                     Point next = new Point(nx, ny);
 
-                    if (nx >= 0 && nx < rows && ny >= 0 && ny < cols && !visited.contains(next) && grid[nx][ny] != '#') {
+                    if (nx >= 0 && nx < rows && ny >= 0 && ny < cols && !visited.contains(next) && !maze.isWall(nx, ny)) {
                         visited.add(next);
                         parent.put(next, current);
                         queue.add(next);
@@ -154,10 +153,7 @@ public class AnimatedBFSSolver {
         return future;
     }
     private char[][] reconstructPathAnimated(Map<Point, Point> parent, Point end, CompletableFuture<char[][]> future) {
-        char[][] grid = maze.getGrid().clone();
-        for (int i = 0; i < grid.length; i++) {
-            grid[i] = grid[i].clone();
-        }
+        char[][] grid = maze.copyGrid();
 
         List<Point> path = new ArrayList<>();
         Point current = end;
@@ -76,7 +76,6 @@ public class AnimatedDFSSolver {
         }
 
         isSolving = true;
-        char[][] grid = maze.getGrid();
         Point start = maze.getStart();
         Point end = maze.getEnd();
         int rows = maze.getRows();
@@ -135,7 +134,7 @@ public class AnimatedDFSSolver {
                     Point next = new Point(nx, ny);
 
                     // Vérifier si le voisin est dans les limites et n'est pas un mur
-                    if (nx >= 0 && nx < rows && ny >= 0 && ny < cols && !visited.contains(next) && grid[nx][ny] != '#') {
+                    if (nx >= 0 && nx < rows && ny >= 0 && ny < cols && !visited.contains(next) && !maze.isWall(nx, ny)) {
                         visited.add(next);
                         parent.put(next, current);
                         stack.push(next);
@@ -157,10 +156,7 @@ public class AnimatedDFSSolver {
      * @return Une copie de la grille avec le chemin marqué.
      */
     private char[][] reconstructPathAnimated(Map<Point, Point> parent, Point end, CompletableFuture<char[][]> future) {
-        char[][] grid = maze.getGrid().clone();
-        for (int i = 0; i < grid.length; i++) {
-            grid[i] = grid[i].clone();
-        }
+        char[][] grid = maze.copyGrid();
 
         List<Point> path = new ArrayList<>();
         Point current = end;
@@ -1,12 +1,22 @@
 package fr.esisar.labyrinthe.controller;
 
-import fr.esisar.labyrinthe.algorithm.BFSSolver;
-import fr.esisar.labyrinthe.algorithm.DFSSolver;
-import fr.esisar.labyrinthe.algorithm.AStarSolver;
+import fr.esisar.labyrinthe.algorithm.CancellationToken;
+import fr.esisar.labyrinthe.algorithm.ConnectedComponents;
+import fr.esisar.labyrinthe.algorithm.ContractionHierarchy;
+import fr.esisar.labyrinthe.algorithm.ContractionHierarchySolver;
+import fr.esisar.labyrinthe.algorithm.SolveCache;
+import fr.esisar.labyrinthe.algorithm.Solver;
+import fr.esisar.labyrinthe.algorithm.SolverBudget;
+import fr.esisar.labyrinthe.algorithm.SolverRegistry;
+import fr.esisar.labyrinthe.algorithm.SolverResult;
 import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.MazeBinaryReader;
+import fr.esisar.labyrinthe.model.MazeBinaryWriter;
+import fr.esisar.labyrinthe.model.MazeFileLoader;
 import fr.esisar.labyrinthe.generator.MazeGenerator;
 import fr.esisar.labyrinthe.model.MazeAnalyzer;
 import fr.esisar.labyrinthe.ui.AlgorithmComparisonView;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
@@ -23,7 +33,10 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
@@ -31,6 +44,10 @@ import java.util.function.Consumer;
  * Contrôleur pour l'application de résolution de labyrinthes.
  */
 public class MazeController {
+    private static final String BINARY_EXTENSION = ".lbin"; // Extension des labyrinthes binaires
+    private static final Duration SOLVE_TIMEOUT = Duration.ofSeconds(10); // Délai d'une résolution sans animation
+    private static final Duration COMPARE_TIMEOUT = Duration.ofSeconds(30); // Délai de l'ensemble d'une comparaison
+
     @FXML private ScrollPane scrollPane;
     @FXML private Canvas mazeCanvas;
     @FXML private ComboBox<String> algorithmCombo;
@@ -39,11 +56,14 @@ public class MazeController {
     @FXML private Label statusLabel;
 
     private Maze maze;
+    private Path mazeFile;                  // Fichier du labyrinthe chargé, null pour un labyrinthe généré
     private GraphicsContext gc;
     private double cellSize;
     private AnimatedBFSSolver animatedBFSSolver;
     private AnimatedDFSSolver animatedDFSSolver;
     private AnimatedAStarSolver animatedAStarSolver;
+    private CancellationToken solveToken;   // Jeton de la résolution sans animation en cours, null sinon
+    private CancellationToken compareToken; // Jeton de la comparaison en cours, null sinon
 
     /**
      * Initialise le contrôleur.
@@ -51,7 +71,7 @@ public class MazeController {
     @FXML
     public void initialize() {
         gc = mazeCanvas.getGraphicsContext2D();
-        algorithmCombo.getItems().addAll("BFS", "DFS", "A*");
+        algorithmCombo.getItems().addAll(SolverRegistry.getNames());
         algorithmCombo.setValue("BFS"); // Algorithme par défaut
         progressBar.setProgress(0.0);
 
@@ -70,7 +90,9 @@ public class MazeController {
     }
 
     /**
-     * Ouvre une fenêtre pour comparer les performances des algorithmes.
+     * Ouvre une fenêtre pour comparer les performances des algorithmes. L'analyse est faite hors du
+     * thread JavaFX ; les algorithmes encore à mesurer après {@link #COMPARE_TIMEOUT} sont arrêtés, et
+     * l'analyse est abandonnée si une autre commence ou si le labyrinthe change.
      */
     @FXML
     private void handleCompareAlgorithms() {
@@ -79,13 +101,42 @@ public class MazeController {
             return;
         }
 
-        MazeAnalyzer analyzer = new MazeAnalyzer(maze);
-        AlgorithmComparisonView comparisonView = new AlgorithmComparisonView(analyzer);
+        cancelCompare();
+        CancellationToken token = new CancellationToken();
+        compareToken = token;
+        SolverBudget budget = SolverBudget.UNLIMITED.withTimeout(COMPARE_TIMEOUT).withToken(token);
+        MazeAnalyzer analyzer = new MazeAnalyzer(maze, SolveCache.shared());
+
+        statusLabel.setText("Comparaison des algorithmes...");
+        CompletableFuture.supplyAsync(() -> analyzer.analyzeMaze(budget))
+                .whenComplete((stats, error) -> Platform.runLater(() -> {
+                    if (token.isCancelled()) {
+                        return; // Remplacée par une autre comparaison ou un autre labyrinthe
+                    }
+                    compareToken = null;
+                    if (error != null) {
+                        showError("Erreur", error.getMessage());
+                        return;
+                    }
+                    statusLabel.setText((Boolean) stats.get("complete")
+                            ? "Comparaison terminée"
+                            : "Comparaison interrompue après " + COMPARE_TIMEOUT.toSeconds() + " s");
+
+                    Stage stage = new Stage();
+                    stage.setTitle("Comparaison des Algorithmes");
+                    stage.setScene(new Scene(new AlgorithmComparisonView(stats), 800, 600));
+                    stage.show();
+                }));
+    }
 
-        Stage stage = new Stage();
-        stage.setTitle("Comparaison des Algorithmes");
-        stage.setScene(new Scene(comparisonView, 800, 600));
-        stage.show();
+    /**
+     * Annule la comparaison en cours, dont la fenêtre ne sera pas ouverte.
+     */
+    private void cancelCompare() {
+        if (compareToken != null) {
+            compareToken.cancel();
+            compareToken = null;
+        }
     }
 
     /**
@@ -113,7 +164,8 @@ public class MazeController {
                         "   - Un labyrinthe aléatoire sera créé et affiché.\n\n" +
 
                         "3. Résoudre le labyrinthe :\n" +
-                        "   - Sélectionnez un algorithme dans la liste déroulante ('BFS', 'DFS', ou 'A*').\n" +
+                        "   - Sélectionnez un algorithme dans la liste déroulante ('BFS', 'DFS', 'A*' ou une de leurs variantes).\n" +
+                        "     L'animation n'est disponible que pour 'BFS', 'DFS' et 'A*'.\n" +
                         "   - Si vous souhaitez voir la résolution étape par étape, cochez la case 'Animation'.\n" +
                         "   - Cliquez sur le bouton 'Résoudre' (l'icône d'éclair).\n" +
                         "   - Le chemin trouvé sera affiché en jaune.\n\n" +
@@ -143,26 +195,69 @@ public class MazeController {
     private void handleLoadFile() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Ouvrir un fichier de labyrinthe");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Fichiers texte", "*.txt"));
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Fichiers texte", "*.txt"),
+                new FileChooser.ExtensionFilter("Labyrinthes binaires", "*" + BINARY_EXTENSION));
         File file = fileChooser.showOpenDialog(null);
 
         if (file != null) {
             try {
-                maze = new Maze(Path.of(file.toURI()));
+                Path path = Path.of(file.toURI());
+                maze = file.getName().endsWith(BINARY_EXTENSION)
+                        ? MazeBinaryReader.read(path)
+                        : MazeFileLoader.load(path);
+                mazeFile = path;
+                cancelSolve();
+                cancelCompare();
                 drawMaze();
                 statusLabel.setText("Labyrinthe chargé : " + file.getName());
+                if (Files.isRegularFile(ContractionHierarchy.sidecarPath(path))) {
+                    // Hiérarchie déjà enregistrée : chargée en arrière-plan, prête pour la première requête
+                    Maze loaded = maze;
+                    CompletableFuture.runAsync(() -> loadHierarchy(loaded, path));
+                }
             } catch (Exception e) {
                 showError("Erreur de chargement", "Échec du chargement du labyrinthe : " + e.getMessage());
             }
         }
     }
 
+    /**
+     * Gère l'enregistrement du labyrinthe courant au format binaire compressé.
+     */
+    @FXML
+    private void handleSaveFile() {
+        if (maze == null) {
+            showError("Erreur", "Aucun labyrinthe chargé ou généré.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Enregistrer le labyrinthe");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Labyrinthes binaires", "*" + BINARY_EXTENSION));
+        File file = fileChooser.showSaveDialog(null);
+
+        if (file != null) {
+            try {
+                MazeBinaryWriter.write(maze, Path.of(file.toURI()), true);
+                mazeFile = Path.of(file.toURI());
+                statusLabel.setText("Labyrinthe enregistré : " + file.getName());
+            } catch (Exception e) {
+                showError("Erreur d'enregistrement", "Échec de l'enregistrement du labyrinthe : " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Gère la génération d'un nouveau labyrinthe.
      */
     @FXML
     private void handleGenerateMaze() {
         maze = MazeGenerator.generate(25, 25, MazeGenerator.Algorithm.RECURSIVE_BACKTRACKING);
+        mazeFile = null;
+        cancelSolve();
+        cancelCompare();
         drawMaze();
         statusLabel.setText("Labyrinthe généré (25x25)");
     }
@@ -182,13 +277,22 @@ public class MazeController {
             return;
         }
 
-        // Arrêter toute animation en cours
+        // Arrêter toute animation ou résolution en cours
         if (animatedBFSSolver != null) animatedBFSSolver.stop();
         if (animatedDFSSolver != null) animatedDFSSolver.stop();
         if (animatedAStarSolver != null) animatedAStarSolver.stop();
+        cancelSolve();
 
         progressBar.setProgress(0.0);
 
+        // Composantes connexes déjà en cache dans le labyrinthe : une arrivée inaccessible est signalée
+        // sans lancer de recherche. Elles ne sont pas calculées ici, sur le thread JavaFX.
+        if (ConnectedComponents.isKnownUnreachable(maze)) {
+            drawMaze();
+            statusLabel.setText("Aucun chemin entre le départ et l'arrivée");
+            return;
+        }
+
         // Calculer la taille des cellules et les décalages pour centrer le labyrinthe
         double cellWidth = mazeCanvas.getWidth() / maze.getCols();
         double cellHeight = mazeCanvas.getHeight() / maze.getRows();
@@ -204,27 +308,80 @@ public class MazeController {
     }
 
     /**
-     * Résout le labyrinthe sans animation.
+     * Résout le labyrinthe sans animation, hors du thread JavaFX : l'interface reste utilisable, et la
+     * résolution est abandonnée après {@link #SOLVE_TIMEOUT} ou dès qu'une autre commence.
      */
     private void solveWithoutAnimation() {
-        char[][] solvedGrid;
         String selectedAlgorithm = algorithmCombo.getValue();
-        switch (selectedAlgorithm) {
-            case "BFS":
-                solvedGrid = BFSSolver.solve(maze).getGrid();
-                break;
-            case "DFS":
-                solvedGrid = DFSSolver.solve(maze).getGrid();
-                break;
-            case "A*":
-                solvedGrid = AStarSolver.solve(maze).getGrid();
-                break;
-            default:
-                throw new IllegalStateException("Algorithme sélectionné invalide.");
+        Solver solver = SolverRegistry.get(selectedAlgorithm);
+        Maze solving = maze;
+        Path file = mazeFile;
+        CancellationToken token = new CancellationToken();
+        solveToken = token;
+        SolverBudget budget = SolverBudget.UNLIMITED.withTimeout(SOLVE_TIMEOUT).withToken(token);
+
+        progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        statusLabel.setText("Résolution avec " + selectedAlgorithm + "...");
+        // Un labyrinthe de même contenu déjà résolu par cet algorithme est servi depuis le cache
+        CompletableFuture.supplyAsync(() -> {
+                    // Composantes connexes mises en cache dans le labyrinthe : le solveur conclut
+                    // immédiatement à l'absence de chemin si l'arrivée est inaccessible.
+                    ConnectedComponents.of(solving);
+                    if (solver instanceof ContractionHierarchySolver && file != null) {
+                        loadHierarchy(solving, file); // Lue ou enregistrée à côté du fichier du labyrinthe
+                    }
+                    return SolveCache.shared().solve(solver, solving, budget);
+                })
+                .whenComplete((result, error) -> Platform.runLater(() -> {
+                    if (token.isCancelled()) {
+                        return; // Remplacée par une autre résolution ou un autre labyrinthe
+                    }
+                    solveToken = null;
+                    progressBar.setProgress(0.0);
+                    if (error != null) {
+                        showError("Erreur", error.getMessage());
+                        return;
+                    }
+                    showResult(selectedAlgorithm, result);
+                }));
+    }
+
+    /**
+     * Dessine le résultat d'une résolution sans animation et l'annonce dans la barre d'état.
+     */
+    private void showResult(String algorithm, SolverResult result) {
+        drawSolution(result);
+        progressBar.setProgress(result.isFound() ? 1.0 : 0.0);
+        switch (result.getStatus()) {
+            case FOUND -> statusLabel.setText("Labyrinthe résolu avec " + algorithm + result.getDetail());
+            case NO_PATH -> statusLabel.setText("Aucun chemin trouvé par " + algorithm + result.getDetail());
+            case TIMED_OUT -> statusLabel.setText(algorithm + " interrompu après " + SOLVE_TIMEOUT.toSeconds()
+                    + " s (" + result.getSteps() + " étapes)");
+            default -> statusLabel.setText(algorithm + " interrompu après " + result.getSteps() + " étapes");
         }
+    }
 
-        drawSolution(solvedGrid);
-        statusLabel.setText("Labyrinthe résolu avec " + selectedAlgorithm);
+    /**
+     * Charge la hiérarchie de contraction enregistrée à côté du fichier du labyrinthe, ou la construit
+     * et l'enregistre : elle n'est ainsi construite qu'une fois par fichier. Elle reste conservée par le
+     * labyrinthe même si l'enregistrement échoue (répertoire en lecture seule...).
+     */
+    private static void loadHierarchy(Maze maze, Path file) {
+        try {
+            ContractionHierarchy.loadOrBuild(maze, file);
+        } catch (IOException e) {
+            // Hiérarchie utilisable mais non enregistrée : elle sera reconstruite à la prochaine ouverture
+        }
+    }
+
+    /**
+     * Annule la résolution sans animation en cours, dont le résultat ne sera pas affiché.
+     */
+    private void cancelSolve() {
+        if (solveToken != null) {
+            solveToken.cancel();
+            solveToken = null;
+        }
     }
 
     /**
@@ -278,7 +435,7 @@ public class MazeController {
         // Dessiner le labyrinthe
         for (int i = 0; i < maze.getRows(); i++) {
             for (int j = 0; j < maze.getCols(); j++) {
-                gc.setFill(getCellColor(i, j, maze.getGrid()));
+                gc.setFill(getCellColor(maze.getCell(i, j)));
                 gc.fillRect(
                         offsetX + j * cellSize,
                         offsetY + i * cellSize,
@@ -289,6 +446,31 @@ public class MazeController {
         }
     }
 
+    /**
+     * Dessine le labyrinthe puis le chemin trouvé, sans construire la grille résolue complète.
+     *
+     * @param result Le résultat de la résolution.
+     */
+    private void drawSolution(SolverResult result) {
+        drawMaze();
+
+        int cols = maze.getCols();
+        double offsetX = (mazeCanvas.getWidth() - (cols * cellSize)) / 2;
+        double offsetY = (mazeCanvas.getHeight() - (maze.getRows() * cellSize)) / 2;
+
+        // Colorier uniquement les cellules du chemin, départ et arrivée exclus
+        int[] path = result.getPath();
+        gc.setFill(getCellColor('+'));
+        for (int i = 1; i < path.length - 1; i++) {
+            gc.fillRect(
+                    offsetX + (path[i] % cols) * cellSize,
+                    offsetY + (path[i] / cols) * cellSize,
+                    cellSize,
+                    cellSize
+            );
+        }
+    }
+
     /**
      * Dessine le labyrinthe résolu sur le canvas, centré.
      *
@@ -311,7 +493,7 @@ public class MazeController {
         // Dessiner le labyrinthe résolu
         for (int i = 0; i < maze.getRows(); i++) {
             for (int j = 0; j < maze.getCols(); j++) {
-                gc.setFill(getCellColor(i, j, solvedGrid));
+                gc.setFill(getCellColor(solvedGrid[i][j]));
                 gc.fillRect(
                         offsetX + j * cellSize,
                         offsetY + i * cellSize,
@@ -325,16 +507,14 @@ public class MazeController {
     /**
      * Retourne la couleur pour une cellule en fonction de son contenu.
      *
-     * @param x    L'indice de la ligne de la cellule.
-     * @param y    L'indice de la colonne de la cellule.
-     * @param grid La grille contenant la cellule.
+     * @param cell Le contenu de la cellule.
      * @return La couleur pour la cellule.
      */
-    private Color getCellColor(int x, int y, char[][] grid) {
-        if (grid[x][y] == '#') return Color.BLACK; // Mur
-        if (grid[x][y] == 'S') return Color.GREEN; // Départ
-        if (grid[x][y] == 'E') return Color.RED;   // Arrivée
-        if (grid[x][y] == '+') return Color.YELLOW; // Chemin
+    private Color getCellColor(char cell) {
+        if (cell == '#') return Color.BLACK; // Mur
+        if (cell == 'S') return Color.GREEN; // Départ
+        if (cell == 'E') return Color.RED;   // Arrivée
+        if (cell == '+') return Color.YELLOW; // Chemin
         return Color.WHITE; // Espace vide
     }
 
@@ -127,6 +127,9 @@ public class MazeGenerator {
                 Point current = frontier.get(idx);
                 frontier.remove(idx);
 
+                // A cell can be added to the frontier more than once: carving it twice would create a loop
+                if (grid[current.x()][current.y()] != '#') continue;
+
                 // Connect to a random "in" neighbor
                 List<Point> neighbors = getInMazeNeighbors(current.x(), current.y(), grid);
                 if (!neighbors.isEmpty()) {
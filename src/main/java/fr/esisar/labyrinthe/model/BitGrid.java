@@ -0,0 +1,214 @@
+package fr.esisar.labyrinthe.model;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Grille de murs compacte : un bit par cellule, stocké dans des mots de 64 bits.
+ * Le bit d'indice {@code ligne * colonnes + colonne} vaut 1 si la cellule est un mur.
+ * Les cellules sont rangées ligne par ligne sans remplissage, ce qui rend les parcours séquentiels
+ * très favorables au cache (64 cellules par mot mémoire).
+ * <p>
+ * Les mots sont découpés en blocs de {@value #CHUNK_WORDS} mots (des bandes de lignes consécutives).
+ * {@link #copy()} partage les blocs au lieu de les recopier : un bloc partagé n'est plus jamais
+ * modifié, et la première écriture dans un bloc partagé le recopie (copie sur écriture). Une copie
+ * coûte donc un tableau de références, et une modification au plus un bloc, quelle que soit la taille
+ * de la grille. Une copie qui n'est plus modifiée peut être lue par plusieurs threads pendant que
+ * l'original continue d'être modifié.
+ */
+public final class BitGrid {
+    /**
+     * Nombre de mots par bloc : 1 Kmots, soit 8 Ko ou 65 536 cellules.
+     */
+    static final int CHUNK_WORDS = 1 << 10;
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_MASK = CHUNK_WORDS - 1;
+
+    private final int rows;
+    private final int cols;
+    private final long[][] chunks;   // Blocs de mots ; seul le dernier peut être plus court
+    private final boolean[] shared;  // Blocs partagés avec une autre grille, à recopier avant écriture
+
+    /**
+     * Crée une grille sans aucun mur.
+     *
+     * @param rows Le nombre de lignes.
+     * @param cols Le nombre de colonnes.
+     * @throws IllegalArgumentException si les dimensions sont invalides ou trop grandes.
+     */
+    public BitGrid(int rows, int cols) {
+        this(rows, cols, new long[wordCount(rows, cols)]);
+    }
+
+    /**
+     * Crée une grille à partir de mots déjà remplis (utilisé par les chargeurs du paquetage).
+     * Le tableau peut être plus long que nécessaire ; les mots excédentaires doivent valoir 0.
+     */
+    BitGrid(int rows, int cols, long[] words) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Dimensions invalides : " + rows + "x" + cols);
+        }
+        if (words.length < wordCount(rows, cols)) {
+            throw new IllegalArgumentException("Tableau de mots trop petit pour " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        int wordCount = wordCount(rows, cols);
+        this.chunks = new long[(wordCount + CHUNK_MASK) >>> CHUNK_SHIFT][];
+        for (int c = 0; c < chunks.length; c++) {
+            int from = c << CHUNK_SHIFT;
+            int to = Math.min(wordCount, from + CHUNK_WORDS);
+            chunks[c] = from == 0 && to == words.length ? words : Arrays.copyOfRange(words, from, to);
+        }
+        this.shared = new boolean[chunks.length];
+    }
+
+    private BitGrid(int rows, int cols, long[][] chunks) {
+        this.rows = rows;
+        this.cols = cols;
+        this.chunks = chunks;
+        this.shared = new boolean[chunks.length];
+        Arrays.fill(shared, true);
+    }
+
+    /**
+     * Construit la grille compacte correspondant à une grille de caractères ('#' = mur).
+     *
+     * @param grid La grille de caractères.
+     * @return La grille de murs compacte.
+     */
+    public static BitGrid ofWalls(char[][] grid) {
+        BitGrid bits = new BitGrid(grid.length, grid[0].length);
+        int index = 0;
+        for (char[] row : grid) {
+            for (char cell : row) {
+                if (cell == '#') {
+                    bits.setWall(index, true);
+                }
+                index++;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Calcule le nombre de mots de 64 bits nécessaires pour une grille.
+     *
+     * @throws IllegalArgumentException si la grille dépasse {@code Integer.MAX_VALUE} cellules.
+     */
+    static int wordCount(int rows, int cols) {
+        long cells = (long) rows * cols;
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Labyrinthe trop grand : " + rows + "x" + cols);
+        }
+        return (int) ((cells + 63) >>> 6);
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+
+    /**
+     * @param index L'indice aplati de la cellule.
+     * @return {@code true} si la cellule est un mur.
+     */
+    public boolean isWall(int index) {
+        return (chunks[index >>> (6 + CHUNK_SHIFT)][(index >>> 6) & CHUNK_MASK] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return {@code true} si la cellule (x, y) est un mur. Les coordonnées doivent être dans la grille.
+     */
+    public boolean isWall(int x, int y) {
+        return isWall(x * cols + y);
+    }
+
+    /**
+     * Modifie l'état d'une cellule.
+     *
+     * @param index L'indice aplati de la cellule.
+     * @param wall  {@code true} pour en faire un mur, {@code false} pour la libérer.
+     */
+    public void setWall(int index, boolean wall) {
+        int c = index >>> (6 + CHUNK_SHIFT);
+        if (shared[c]) {
+            chunks[c] = chunks[c].clone(); // Copie sur écriture
+            shared[c] = false;
+        }
+        if (wall) {
+            chunks[c][(index >>> 6) & CHUNK_MASK] |= 1L << index;
+        } else {
+            chunks[c][(index >>> 6) & CHUNK_MASK] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * @return Le nombre de murs de la grille.
+     */
+    public int wallCount() {
+        int count = 0;
+        for (long[] chunk : chunks) {
+            for (long word : chunk) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Le nombre de mots de 64 bits de la grille.
+     */
+    public int getWordCount() {
+        return wordCount(rows, cols);
+    }
+
+    /**
+     * Retourne un mot brut de la grille, pour les traitements mot par mot.
+     * Les bits au-delà de la dernière cellule valent toujours 0.
+     *
+     * @param i L'indice du mot.
+     * @return Les 64 cellules couvertes par ce mot (bit 1 = mur).
+     */
+    public long getWord(int i) {
+        return chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+    }
+
+    /**
+     * Copie des mots consécutifs dans un tampon, pour les écrivains de fichiers du paquetage.
+     *
+     * @param from   L'indice du premier mot.
+     * @param target Le tampon, dont la position avance de {@code length} mots.
+     * @param length Le nombre de mots.
+     */
+    void getWords(int from, LongBuffer target, int length) {
+        while (length > 0) {
+            int offset = from & CHUNK_MASK;
+            int count = Math.min(length, CHUNK_WORDS - offset);
+            target.put(chunks[from >>> CHUNK_SHIFT], offset, count);
+            from += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Retourne une copie indépendante de la grille, en temps proportionnel au nombre de blocs :
+     * les blocs sont partagés et recopiés seulement lors de leur première modification, par
+     * l'une ou l'autre des deux grilles.
+     *
+     * @return Une copie indépendante de la grille.
+     */
+    public BitGrid copy() {
+        Arrays.fill(shared, true);
+        return new BitGrid(rows, cols, chunks.clone());
+    }
+
+    /**
+     * @return La mémoire occupée par les murs, en octets, blocs partagés compris.
+     */
+    public long memoryBytes() {
+        long words = 0;
+        for (long[] chunk : chunks) {
+            words += chunk.length;
+        }
+        return words * Long.BYTES;
+    }
+}
@@ -4,14 +4,32 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
 
 public class Maze {
-    private final char[][] grid;
+    // Sels des clés de Zobrist, pour que murs, dimensions et extrémités ne partagent aucune clé
+    private static final long CELL_SALT = 0x9E3779B97F4A7C15L;
+    private static final long DIMENSIONS_SALT = 0x3C6EF372FE94F82AL;
+    private static final long START_SALT = 0xDAA66D2C7DDF743FL;
+    private static final long END_SALT = 0x78DDE6E5FD29F054L;
+
+    private final char[][] grid;    // Grille de caractères, null pour un labyrinthe compact
+    private final BitGrid walls;    // Murs bit à bit, null pour un labyrinthe à grille de caractères
     private final Point start;
     private final Point end;
     private final int rows;
     private final int cols;
+    private final Map<Class<?>, Object> derived = new HashMap<>(); // Structures dérivées ou FutureTask en cours, voir getCached
+    private int version;            // Incrémenté à chaque modification signalée
+    private long fingerprint;       // Empreinte du contenu, valable si fingerprintKnown
+    private boolean fingerprintKnown;
 
     // Constructeur pour charger depuis un fichier
     public Maze(Path filePath) throws IOException {
@@ -21,6 +39,7 @@ public class Maze {
         this.rows = lines.size();
         this.cols = lines.get(0).length();
         this.grid = new char[rows][cols];
+        this.walls = null;
         this.start = findPoint(lines, 'S');
         this.end = findPoint(lines, 'E');
 
@@ -35,6 +54,7 @@ public class Maze {
     // Constructeur pour génération aléatoire
     public Maze(char[][] grid, Point start, Point end) {
         this.grid = grid;
+        this.walls = null;
         this.rows = grid.length;
         this.cols = grid[0].length;
         this.start = start;
@@ -46,6 +66,7 @@ public class Maze {
         this.rows = rows;
         this.cols = cols;
         this.grid = new char[rows][cols];
+        this.walls = null;
         this.start = new Point(1, 1);
         this.end = new Point(rows - 2, cols - 2);
         for (int i = 0; i < rows; i++) {
@@ -55,6 +76,16 @@ public class Maze {
         }
     }
 
+    // Constructeur pour un labyrinthe compact (un bit par cellule)
+    public Maze(BitGrid walls, Point start, Point end) {
+        this.grid = null;
+        this.walls = walls;
+        this.rows = walls.getRows();
+        this.cols = walls.getCols();
+        this.start = start;
+        this.end = end;
+    }
+
     // Méthodes utilitaires
     private void validateLines(List<String> lines) throws IOException {
         if (lines.isEmpty()) throw new IOException("Fichier vide");
@@ -78,21 +109,320 @@ public class Maze {
     }
 
     // Getters
-    public char[][] getGrid() { return grid; }
     public Point getStart() { return start; }
     public Point getEnd() { return end; }
     public int getRows() { return rows; }
     public int getCols() { return cols; }
 
+    /**
+     * Retourne la grille de caractères du labyrinthe.
+     * Pour un labyrinthe compact, la grille est reconstruite à chaque appel (2 octets par cellule) :
+     * les traitements en lecture seule doivent préférer {@link #isWall(int, int)} et {@link #getCell(int, int)}.
+     */
+    public char[][] getGrid() {
+        return grid != null ? grid : copyGrid();
+    }
+
+    /**
+     * @return Une copie indépendante de la grille de caractères, quel que soit le stockage.
+     */
+    public char[][] copyGrid() {
+        char[][] copy = new char[rows][];
+        for (int i = 0; i < rows; i++) {
+            if (grid != null) {
+                copy[i] = Arrays.copyOf(grid[i], cols);
+            } else {
+                copy[i] = new char[cols];
+                for (int j = 0; j < cols; j++) {
+                    copy[i][j] = getCell(i, j);
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @return {@code true} si le labyrinthe est stocké sous forme compacte (un bit par cellule).
+     */
+    public boolean isCompact() {
+        return walls != null;
+    }
+
+    /**
+     * Retourne une version compacte de ce labyrinthe (lui-même s'il l'est déjà).
+     * Seules les informations mur / libre et les points de départ et d'arrivée sont conservées.
+     */
+    public Maze toCompact() {
+        return walls != null ? this : new Maze(toBitGrid(), start, end);
+    }
+
+    /**
+     * Retourne les murs du labyrinthe sous forme compacte.
+     * Pour un labyrinthe compact, la grille retournée est celle du labyrinthe (partagée, à ne pas modifier) ;
+     * sinon elle est construite à partir de la grille de caractères.
+     */
+    public BitGrid toBitGrid() {
+        return walls != null ? walls : BitGrid.ofWalls(grid);
+    }
+
+    /**
+     * @return Le numéro de version du labyrinthe, incrémenté par {@link #markModified()}.
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * Signale que les murs du labyrinthe ont été modifiés : la version est incrémentée et les structures
+     * dérivées mises en cache par {@link #getCached(Class, Function)} sont abandonnées.
+     */
+    public synchronized void markModified() {
+        version++;
+        derived.clear();
+        fingerprintKnown = false;
+    }
+
+    /**
+     * Retourne l'empreinte du contenu du labyrinthe : un hachage de Zobrist sur 64 bits, ou exclusif des
+     * clés de chaque mur, des dimensions, du départ et de l'arrivée. Deux labyrinthes de même contenu ont
+     * la même empreinte, quel que soit leur stockage. Elle est calculée au premier appel, puis tenue à jour
+     * en temps constant par {@link #setWall} ; toute autre modification signalée la fait recalculer.
+     *
+     * @return L'empreinte du contenu.
+     */
+    public synchronized long getFingerprint() {
+        if (!fingerprintKnown) {
+            long hash = mix(DIMENSIONS_SALT ^ ((long) rows << 32 | cols))
+                    ^ mix(START_SALT ^ (start.x() * (long) cols + start.y()))
+                    ^ mix(END_SALT ^ (end.x() * (long) cols + end.y()));
+            if (walls != null) {
+                for (int i = 0, words = walls.getWordCount(); i < words; i++) {
+                    for (long word = walls.getWord(i); word != 0; word &= word - 1) {
+                        hash ^= cellKey((i << 6) + Long.numberOfTrailingZeros(word));
+                    }
+                }
+            } else {
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < cols; j++) {
+                        if (grid[i][j] == '#') {
+                            hash ^= cellKey(i * cols + j);
+                        }
+                    }
+                }
+            }
+            fingerprint = hash;
+            fingerprintKnown = true;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Fixe l'empreinte d'un labyrinthe dont le contenu est connu par ailleurs (instantanés de
+     * {@link VersionedMaze}), pour éviter de la recalculer.
+     */
+    synchronized void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+        this.fingerprintKnown = true;
+    }
+
+    /**
+     * Clé de Zobrist d'un mur, tirée d'une fonction de hachage plutôt que d'une table pour ne rien
+     * allouer quelle que soit la taille du labyrinthe.
+     *
+     * @param cell L'indice aplati de la cellule.
+     */
+    static long cellKey(int cell) {
+        return mix(CELL_SALT ^ cell);
+    }
+
+    /**
+     * Fonction de mélange de SplitMix64 : une bijection dont chaque bit de sortie dépend de tous les bits d'entrée.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Retourne une structure dérivée du labyrinthe (index, graphe contracté...), construite au premier
+     * appel puis conservée jusqu'à la prochaine modification signalée par {@link #markModified()}.
+     * <p>
+     * La construction a lieu hors du verrou du labyrinthe : une construction longue (hiérarchie de
+     * contraction...) ne bloque ni les autres accesseurs ni les structures déjà en cache. Les appels
+     * concurrents pour le même type attendent la construction en cours au lieu de la dupliquer. Une
+     * structure dont la construction a été suivie d'une modification est retournée, mais pas conservée.
+     * <p>
+     * Le constructeur peut retourner null s'il a été interrompu (budget d'une résolution épuisé) : rien
+     * n'est alors conservé et null est retourné. Les appels qui attendaient cette construction la
+     * recommencent avec leur propre constructeur.
+     *
+     * @param type    Le type de la structure, qui sert de clé.
+     * @param builder Construit la structure à partir du labyrinthe, ou retourne null s'il a été interrompu.
+     * @return La structure en cache, ou null si ce constructeur a été interrompu.
+     */
+    public <T> T getCached(Class<T> type, Function<Maze, ? extends T> builder) {
+        while (true) {
+            FutureTask<?> task;
+            boolean owner = false;
+            synchronized (this) {
+                Object value = derived.get(type);
+                if (value instanceof FutureTask<?> pending) {
+                    task = pending;
+                } else if (value != null) {
+                    return type.cast(value);
+                } else {
+                    task = new FutureTask<>(() -> builder.apply(this));
+                    derived.put(type, task);
+                    owner = true;
+                }
+            }
+            if (owner) {
+                task.run();
+            }
+            Object value;
+            try {
+                value = await(task);
+            } catch (ExecutionException e) {
+                synchronized (this) {
+                    derived.remove(type, task); // Le prochain appel recommencera la construction
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw (RuntimeException) e.getCause(); // Le constructeur ne lève pas d'exception vérifiée
+            }
+            if (value != null) {
+                synchronized (this) {
+                    derived.replace(type, task, value); // Sans effet si le labyrinthe a été modifié entre-temps
+                }
+                return type.cast(value);
+            }
+            synchronized (this) {
+                derived.remove(type, task); // Construction interrompue : rien à conserver
+            }
+            if (owner) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Attend la fin d'une construction sans pouvoir être interrompu ; l'interruption éventuelle est
+     * signalée de nouveau au retour.
+     */
+    private static Object await(FutureTask<?> task) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Retourne une structure dérivée déjà en cache, sans la construire.
+     *
+     * @param type Le type de la structure.
+     * @return La structure, ou un Optional vide si elle n'a pas été construite depuis la dernière
+     *         modification ou si sa construction est en cours.
+     */
+    public synchronized <T> Optional<T> getCachedIfPresent(Class<T> type) {
+        Object value = derived.get(type);
+        return value instanceof FutureTask<?> ? Optional.empty() : Optional.ofNullable(type.cast(value));
+    }
+
+    /**
+     * Transforme une cellule en mur ou la libère, puis signale la modification par {@link #markModified()}.
+     * L'empreinte, si elle est connue, est mise à jour en temps constant.
+     * Une cellule libérée redevient 'S' ou 'E' si c'est le départ ou l'arrivée, ' ' sinon.
+     * Pour un labyrinthe compact, la grille de bits est modifiée en place : la modification est visible
+     * de tout autre labyrinthe construit sur la même {@link BitGrid}.
+     *
+     * @param x    La ligne.
+     * @param y    La colonne.
+     * @param wall {@code true} pour un mur, {@code false} pour une cellule libre.
+     * @throws IllegalArgumentException si la cellule est hors du labyrinthe.
+     */
+    public synchronized void setWall(int x, int y, boolean wall) {
+        if (x < 0 || x >= rows || y < 0 || y >= cols) {
+            throw new IllegalArgumentException("Cellule hors du labyrinthe : (" + x + ", " + y + ")");
+        }
+        boolean known = fingerprintKnown;
+        long hash = isWall(x, y) != wall ? fingerprint ^ cellKey(x * cols + y) : fingerprint;
+        if (grid != null) {
+            if (wall) {
+                grid[x][y] = '#';
+            } else {
+                grid[x][y] = x == start.x() && y == start.y() ? 'S' : x == end.x() && y == end.y() ? 'E' : ' ';
+            }
+        } else {
+            walls.setWall(x * cols + y, wall);
+        }
+        markModified();
+        if (known) {
+            setFingerprint(hash);
+        }
+    }
+
     // Pour JavaFX: vérifier si une cellule est un mur
     public boolean isWall(int x, int y) {
-        return x < 0 || x >= rows || y < 0 || y >= cols || grid[x][y] == '#';
+        if (x < 0 || x >= rows || y < 0 || y >= cols) return true;
+        return grid != null ? grid[x][y] == '#' : walls.isWall(x * cols + y);
+    }
+
+    /**
+     * Retourne le contenu d'une cellule : '#' pour un mur, 'S' et 'E' pour le départ et l'arrivée.
+     * Pour un labyrinthe compact, toute autre cellule libre vaut ' '.
+     */
+    public char getCell(int x, int y) {
+        if (grid != null) return grid[x][y];
+        if (walls.isWall(x * cols + y)) return '#';
+        if (x == start.x() && y == start.y()) return 'S';
+        if (x == end.x() && y == end.y()) return 'E';
+        return ' ';
+    }
+
+    /**
+     * @return Le nombre de murs du labyrinthe.
+     */
+    public int wallCount() {
+        if (walls != null) return walls.wallCount();
+        int count = 0;
+        for (char[] row : grid) {
+            for (char cell : row) {
+                if (cell == '#') count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Une estimation de la mémoire occupée par la grille, en octets.
+     */
+    public long gridMemoryBytes() {
+        if (walls != null) return walls.memoryBytes();
+        // 2 octets par caractère plus l'en-tête (~16 octets) et la référence (~8 octets) de chaque ligne
+        return (long) rows * cols * Character.BYTES + rows * 24L;
     }
 
     // Affichage console
     public void print() {
-        for (char[] row : grid) {
-            System.out.println(new String(row));
+        StringBuilder sb = new StringBuilder(cols);
+        for (int i = 0; i < rows; i++) {
+            sb.setLength(0);
+            for (int j = 0; j < cols; j++) {
+                sb.append(getCell(i, j));
+            }
+            System.out.println(sb);
         }
     }
 }
\ No newline at end of file
@@ -1,20 +1,38 @@
 package fr.esisar.labyrinthe.model;
 
-import fr.esisar.labyrinthe.algorithm.AStarSolver;
-import fr.esisar.labyrinthe.algorithm.BFSSolver;
-import fr.esisar.labyrinthe.algorithm.DFSSolver;
+import fr.esisar.labyrinthe.algorithm.ConnectedComponents;
+import fr.esisar.labyrinthe.algorithm.SolveCache;
+import fr.esisar.labyrinthe.algorithm.Solver;
+import fr.esisar.labyrinthe.algorithm.SolverBudget;
+import fr.esisar.labyrinthe.algorithm.SolverRegistry;
 import fr.esisar.labyrinthe.algorithm.SolverResult;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * La classe `MazeAnalyzer` fournit des fonctionnalités pour analyser un labyrinthe
  * et obtenir des statistiques sur sa structure, ainsi que sur les performances de
- * différents algorithmes de résolution (BFS, DFS, A*).
+ * tous les algorithmes de résolution enregistrés dans {@link SolverRegistry}.
+ * <p>
+ * Avec un {@link SolveCache}, les statistiques d'un labyrinthe de même contenu déjà analysé sont
+ * servies depuis le cache (temps de résolution compris, tels que mesurés lors de l'analyse), et les
+ * résultats de chaque algorithme y sont conservés pour les résolutions suivantes.
+ * <p>
+ * Une analyse peut être limitée par un {@link SolverBudget} (délai, annulation) partagé par tous les
+ * algorithmes : ceux qui sont encore à mesurer quand il est épuisé sont arrêtés, et l'analyse, alors
+ * incomplète, n'est pas conservée dans le cache.
  */
 public class MazeAnalyzer {
+    private static final String STATS_KEY = "MazeAnalyzer"; // Nom des statistiques dans le cache
+    private static final long STATS_BYTES = 1024;            // Taille estimée des statistiques générales
+    private static final long SOLVER_STATS_BYTES = 512;      // Taille estimée des mesures d'un algorithme
+
     private final Maze maze;
+    private final SolveCache cache;   // null : pas de cache
 
     /**
      * Construit un objet `MazeAnalyzer` pour le labyrinthe donné.
@@ -23,14 +41,37 @@ public class MazeAnalyzer {
      * @throws IllegalArgumentException si le labyrinthe est null.
      */
     public MazeAnalyzer(Maze maze) {
+        this(maze, null);
+    }
+
+    /**
+     * Construit un objet `MazeAnalyzer` pour le labyrinthe donné, dont les analyses passent par un cache.
+     *
+     * @param maze  Le labyrinthe à analyser.
+     * @param cache Le cache des statistiques et des résultats, ou null pour tout recalculer.
+     * @throws IllegalArgumentException si le labyrinthe est null.
+     */
+    public MazeAnalyzer(Maze maze, SolveCache cache) {
         if (maze == null) {
             throw new IllegalArgumentException("Le labyrinthe ne peut pas être null.");
         }
         this.maze = maze;
+        this.cache = cache;
+    }
+
+    /**
+     * Analyse le labyrinthe sans limite et retourne une carte de statistiques.
+     *
+     * @return Les statistiques décrites par {@link #analyzeMaze(SolverBudget)}.
+     */
+    public Map<String, Object> analyzeMaze() {
+        return analyzeMaze(SolverBudget.UNLIMITED);
     }
 
     /**
-     * Analyse le labyrinthe et retourne une carte de statistiques.
+     * Analyse le labyrinthe dans les limites du budget donné et retourne une carte de statistiques.
+     *
+     * @param budget Les limites partagées par les résolutions de tous les algorithmes.
      *
      * @return Une carte (Map) contenant des statistiques sur le labyrinthe et les
      *         algorithmes de résolution. Les clés de la carte sont des chaînes
@@ -43,6 +84,14 @@ public class MazeAnalyzer {
      *             <li>pathCount: Le nombre de chemins (espaces vides) dans le labyrinthe.</li>
      *             <li>wallRatio: Le ratio de murs par rapport au nombre total de cellules.</li>
      *             <li>straightLineDistance: La distance en ligne droite entre le début et la fin.</li>
+     *             <li>componentCount: Le nombre de composantes connexes de cellules libres.</li>
+     *             <li>reachable: {@code true} si l'arrivée est accessible depuis le départ.</li>
+     *             <li>complete: {@code false} si au moins un algorithme a été arrêté par le budget
+     *             (son statut en donne la raison, et ses mesures sont partielles).</li>
+     *             <li>solvers: Pour chaque algorithme enregistré, dans l'ordre du registre, une carte
+     *             contenant steps (nombre d'étapes), time (temps en nanosecondes), pathLength
+     *             (longueur du chemin), status (issue de la recherche), peakFrontier (taille maximale de la frontière) et
+     *             capabilities (caractéristiques de l'algorithme).</li>
      *             <li>bfsSteps: Le nombre d'étapes pour résoudre le labyrinthe avec BFS.</li>
      *             <li>dfsSteps: Le nombre d'étapes pour résoudre le labyrinthe avec DFS.</li>
      *             <li>aStarSteps: Le nombre d'étapes pour résoudre le labyrinthe avec A*.</li>
@@ -55,8 +104,29 @@ public class MazeAnalyzer {
      *             <li>pathEfficiency: L'efficacité du chemin (ratio du chemin BFS / distance en ligne droite).</li>
      *             <li>complexity: La complexité du labyrinthe (ratio du chemin DFS / chemin BFS).</li>
      *         </ul>
+     *         Avec un cache, la carte est non modifiable, et partagée si l'analyse est complète.
      */
-    public Map<String, Object> analyzeMaze() {
+    public Map<String, Object> analyzeMaze(SolverBudget budget) {
+        if (cache == null) {
+            return computeStats(budget);
+        }
+        long fingerprint = maze.getFingerprint();
+        Optional<Map<String, Object>> cached = cache.getValue(maze, STATS_KEY);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Map<String, Object> stats = Collections.unmodifiableMap(computeStats(budget));
+        if ((Boolean) stats.get("complete") && maze.getFingerprint() == fingerprint) {
+            long bytes = STATS_BYTES + SOLVER_STATS_BYTES * SolverRegistry.getSolvers().size();
+            cache.putValue(maze, STATS_KEY, stats, bytes);
+        }
+        return stats;
+    }
+
+    /**
+     * Calcule les statistiques décrites par {@link #analyzeMaze(SolverBudget)}.
+     */
+    private Map<String, Object> computeStats(SolverBudget budget) {
         Map<String, Object> stats = new HashMap<>();
 
         // Statistiques de base
@@ -64,17 +134,8 @@ public class MazeAnalyzer {
         stats.put("totalCells", maze.getRows() * maze.getCols());
 
         // Calculer le nombre de murs et de chemins
-        int wallCount = 0;
-        int pathCount = 0;
-        for (int i = 0; i < maze.getRows(); i++) {
-            for (int j = 0; j < maze.getCols(); j++) {
-                if (maze.getGrid()[i][j] == '#') {
-                    wallCount++;
-                } else {
-                    pathCount++;
-                }
-            }
-        }
+        int wallCount = maze.wallCount();
+        int pathCount = maze.getRows() * maze.getCols() - wallCount;
         stats.put("wallCount", wallCount);
         stats.put("pathCount", pathCount);
         stats.put("wallRatio", (double) wallCount / (maze.getRows() * maze.getCols()));
@@ -88,60 +149,65 @@ public class MazeAnalyzer {
         );
         stats.put("straightLineDistance", straightLineDistance);
 
-        // Mesurer les performances de BFS, DFS et A*
-        long startTime = System.nanoTime();
-        SolverResult bfsResult = BFSSolver.solve(maze);
-        long bfsTime = System.nanoTime() - startTime;
-
-        startTime = System.nanoTime();
-        SolverResult dfsResult = DFSSolver.solve(maze);
-        long dfsTime = System.nanoTime() - startTime;
-
-        startTime = System.nanoTime();
-        SolverResult aStarResult = AStarSolver.solve(maze);
-        long aStarTime = System.nanoTime() - startTime;
-
-        // Ajouter les mesures de performance des algorithmes
-        stats.put("bfsSteps", bfsResult.getSteps());
-        stats.put("dfsSteps", dfsResult.getSteps());
-        stats.put("aStarSteps", aStarResult.getSteps());
+        // Composantes connexes : mises en cache, elles permettent aux solveurs de conclure
+        // immédiatement si l'arrivée est inaccessible
+        ConnectedComponents components = ConnectedComponents.of(maze);
+        stats.put("componentCount", components.getComponentCount());
+        stats.put("reachable", components.connected(start, end));
+
+        // Mesurer les performances de chaque algorithme enregistré
+        Map<String, Map<String, Object>> solverStats = new LinkedHashMap<>();
+        boolean complete = true;
+        for (Solver solver : SolverRegistry.getSolvers()) {
+            long startTime = System.nanoTime();
+            SolverResult result = solver.solve(maze, budget);
+            complete &= !result.isStopped();
+            long time = System.nanoTime() - startTime;
+            if (cache != null) {
+                cache.put(solver, maze, result);
+            }
 
-        stats.put("bfsTime", bfsTime);
-        stats.put("dfsTime", dfsTime);
-        stats.put("aStarTime", aStarTime);
+            Map<String, Object> measures = new HashMap<>();
+            measures.put("steps", result.getSteps());
+            measures.put("time", time);
+            measures.put("pathLength", result.getPathLength());
+            measures.put("status", result.getStatus());
+            measures.put("peakFrontier", result.getPeakFrontier());
+            measures.put("capabilities", solver.getCapabilities());
+            solverStats.put(solver.getName(), measures);
+        }
+        stats.put("solvers", solverStats);
+        stats.put("complete", complete);
 
-        stats.put("bfsPathLength", countPathCells(bfsResult.getGrid()));
-        stats.put("dfsPathLength", countPathCells(dfsResult.getGrid()));
-        stats.put("aStarPathLength", countPathCells(aStarResult.getGrid()));
+        // Clés historiques de BFS, DFS et A*
+        putSolverKeys(stats, "bfs", solverStats.get("BFS"));
+        putSolverKeys(stats, "dfs", solverStats.get("DFS"));
+        putSolverKeys(stats, "aStar", solverStats.get("A*"));
 
         // Calculer l'efficacité du chemin (ratio de l'optimal à la ligne droite)
-        stats.put("pathEfficiency", (double) countPathCells(bfsResult.getGrid()) / straightLineDistance);
+        stats.put("pathEfficiency", (double) (Integer) stats.get("bfsPathLength") / straightLineDistance);
 
         // Calculer la complexité du labyrinthe (ratio entre le chemin le plus long possible et le chemin réel)
-        stats.put("complexity", (double) countPathCells(dfsResult.getGrid()) / countPathCells(bfsResult.getGrid()));
+        stats.put("complexity", (double) (Integer) stats.get("dfsPathLength") / (Integer) stats.get("bfsPathLength"));
 
         return stats;
     }
 
     /**
-     * Compte le nombre de cellules de chemin marquées avec '+' dans la grille résolue.
+     * Recopie les mesures d'un algorithme sous les clés historiques {@code <prefixe>Steps},
+     * {@code <prefixe>Time} et {@code <prefixe>PathLength}.
      *
-     * @param grid La grille résolue.
-     * @return Le nombre de cellules de chemin.
-     * @throws IllegalArgumentException si la grille est null
+     * @param stats    La carte des statistiques à compléter.
+     * @param prefix   Le préfixe des clés (ex: "bfs").
+     * @param measures Les mesures de l'algorithme.
+     * @throws IllegalStateException si l'algorithme n'est pas enregistré.
      */
-    private int countPathCells(char[][] grid) {
-        if (grid == null) {
-            throw new IllegalArgumentException("La grille ne peut pas être null.");
-        }
-        int count = 0;
-        for (int i = 0; i < maze.getRows(); i++) {
-            for (int j = 0; j < maze.getCols(); j++) {
-                if (grid[i][j] == '+') {
-                    count++;
-                }
-            }
+    private void putSolverKeys(Map<String, Object> stats, String prefix, Map<String, Object> measures) {
+        if (measures == null) {
+            throw new IllegalStateException("Algorithme de référence non enregistré : " + prefix);
         }
-        return count;
+        stats.put(prefix + "Steps", measures.get("steps"));
+        stats.put(prefix + "Time", measures.get("time"));
+        stats.put(prefix + "PathLength", measures.get("pathLength"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package fr.esisar.labyrinthe.model;
+
+/**
+ * Constantes du format binaire des labyrinthes, partagées par {@link MazeBinaryWriter} et {@link MazeBinaryReader}.
+ * <p>
+ * Disposition du fichier (entiers en petit-boutiste) :
+ * <pre>
+ * en-tête (44 octets)
+ *   magic      4 octets  "LABY"
+ *   version    u16       {@link #VERSION}
+ *   flags      u16       {@link #FLAG_DEFLATE}
+ *   rows, cols int, int
+ *   start      int, int  (x, y)
+ *   end        int, int  (x, y)
+ *   blockWords int       nombre de mots de 64 bits par bloc
+ *   blockCount int
+ *   crc32      int       CRC32 du corps non compressé
+ * table des blocs (si FLAG_DEFLATE) : blockCount int, taille compressée de chaque bloc
+ * corps : les mots de la {@link BitGrid} (1 bit par cellule, 1 = mur), découpés en blocs
+ *         de blockWords mots, chaque bloc étant éventuellement compressé indépendamment (Deflate)
+ * </pre>
+ */
+final class MazeBinaryFormat {
+    static final byte[] MAGIC = {'L', 'A', 'B', 'Y'};
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+    static final int HEADER_SIZE = 44;
+
+    /**
+     * Nombre de mots par bloc par défaut : 64 Kmots, soit 512 Ko ou environ 4 millions de cellules.
+     */
+    static final int DEFAULT_BLOCK_WORDS = 1 << 16;
+
+    /**
+     * Taille maximale d'un bloc compressé par {@link java.util.zip.Deflater} (format zlib), même pour
+     * des données incompressibles : la borne de {@code deflateBound} de zlib.
+     *
+     * @param length La taille du bloc non compressé, en octets.
+     * @return La taille compressée maximale, en octets.
+     */
+    static long maxCompressedSize(int length) {
+        return (long) length + (length >> 12) + (length >> 14) + (length >> 25) + 13 + 6;
+    }
+
+    private MazeBinaryFormat() {
+    }
+}
@@ -0,0 +1,167 @@
+package fr.esisar.labyrinthe.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lit un labyrinthe au format binaire décrit dans {@link MazeBinaryFormat}.
+ * Le corps non compressé est recopié tel quel dans les mots de la {@link BitGrid}, sans aucune analyse ;
+ * l'intégrité est vérifiée par le CRC32 de l'en-tête.
+ */
+public final class MazeBinaryReader {
+    private MazeBinaryReader() {
+    }
+
+    /**
+     * Charge un labyrinthe binaire sous forme compacte.
+     *
+     * @param filePath Le chemin du fichier.
+     * @return Le labyrinthe compact correspondant.
+     * @throws IOException si le fichier est illisible, tronqué, corrompu ou d'une version non supportée.
+     */
+    public static Maze read(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MazeBinaryFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+
+            byte[] magic = new byte[MazeBinaryFormat.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MazeBinaryFormat.MAGIC)) {
+                throw new IOException("Fichier de labyrinthe binaire invalide");
+            }
+            int version = Short.toUnsignedInt(header.getShort());
+            if (version != MazeBinaryFormat.VERSION) {
+                throw new IOException("Version de format non supportée : " + version);
+            }
+            int flags = Short.toUnsignedInt(header.getShort());
+            if ((flags & ~MazeBinaryFormat.FLAG_DEFLATE) != 0) {
+                throw new IOException("Options de format inconnues : " + flags);
+            }
+            boolean compressed = (flags & MazeBinaryFormat.FLAG_DEFLATE) != 0;
+
+            int rows = header.getInt();
+            int cols = header.getInt();
+            Point start = new Point(header.getInt(), header.getInt());
+            Point end = new Point(header.getInt(), header.getInt());
+            int blockWords = header.getInt();
+            int blockCount = header.getInt();
+            int expectedCrc = header.getInt();
+
+            if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+                throw new IOException("Dimensions invalides : " + rows + "x" + cols);
+            }
+            checkInside(start, rows, cols, 'S');
+            checkInside(end, rows, cols, 'E');
+            int wordCount = BitGrid.wordCount(rows, cols);
+            if (blockWords <= 0 || blockCount != (wordCount + blockWords - 1) / blockWords) {
+                throw new IOException("Découpage en blocs invalide");
+            }
+
+            int[] compressedSizes = null;
+            if (compressed) {
+                if ((long) blockCount * Integer.BYTES > remaining(channel)) {
+                    throw new EOFException("Fichier de labyrinthe binaire tronqué");
+                }
+                ByteBuffer table = ByteBuffer.allocate(blockCount * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(channel, table);
+                table.flip();
+                compressedSizes = new int[blockCount];
+                table.asIntBuffer().get(compressedSizes);
+            }
+
+            long[] words = new long[wordCount];
+            CRC32 crc = new CRC32();
+            ByteBuffer block = ByteBuffer.allocate(Math.min(blockWords, wordCount) * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            Inflater inflater = compressed ? new Inflater() : null;
+            try {
+                for (int b = 0; b < blockCount; b++) {
+                    int offset = b * blockWords;
+                    int length = Math.min(blockWords, wordCount - offset);
+                    block.clear();
+                    block.limit(length * Long.BYTES);
+
+                    if (compressed) {
+                        // Taille lue dans le fichier : vérifiée avant d'allouer le tampon
+                        int size = compressedSizes[b];
+                        if (size < 0 || size > MazeBinaryFormat.maxCompressedSize(block.limit())) {
+                            throw new IOException("Bloc " + b + " invalide : taille compressée " + size);
+                        }
+                        if (size > remaining(channel)) {
+                            throw new EOFException("Fichier de labyrinthe binaire tronqué");
+                        }
+                        ByteBuffer input = ByteBuffer.allocate(size);
+                        readFully(channel, input);
+                        inflate(inflater, input.array(), block, b);
+                    } else {
+                        readFully(channel, block);
+                    }
+
+                    crc.update(block.array(), 0, block.limit());
+                    block.flip();
+                    block.asLongBuffer().get(words, offset, length);
+                }
+            } finally {
+                if (inflater != null) inflater.end();
+            }
+
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("Fichier corrompu : somme de contrôle CRC32 invalide");
+            }
+            return new Maze(new BitGrid(rows, cols, words), start, end);
+        }
+    }
+
+    /**
+     * Décompresse un bloc, qui doit produire exactement le nombre d'octets attendu.
+     */
+    private static void inflate(Inflater inflater, byte[] input, ByteBuffer block, int index) throws IOException {
+        inflater.reset();
+        inflater.setInput(input);
+        int size = 0;
+        try {
+            while (size < block.limit() && !inflater.finished()) {
+                int n = inflater.inflate(block.array(), size, block.limit() - size);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                size += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloc " + index + " corrompu : " + e.getMessage(), e);
+        }
+        if (size != block.limit() || !inflater.finished()) {
+            throw new IOException("Bloc " + index + " corrompu : taille décompressée inattendue");
+        }
+        block.position(size);
+    }
+
+    private static void checkInside(Point p, int rows, int cols, char name) throws IOException {
+        if (p.x() < 0 || p.x() >= rows || p.y() < 0 || p.y() >= cols) {
+            throw new IOException("Point '" + name + "' hors du labyrinthe : " + p);
+        }
+    }
+
+    /**
+     * Nombre d'octets du fichier restant à lire.
+     */
+    private static long remaining(FileChannel channel) throws IOException {
+        return channel.size() - channel.position();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Fichier de labyrinthe binaire tronqué");
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package fr.esisar.labyrinthe.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Écrit un labyrinthe au format binaire décrit dans {@link MazeBinaryFormat} :
+ * un bit par cellule, éventuellement compressé par blocs avec Deflate.
+ */
+public final class MazeBinaryWriter {
+    private MazeBinaryWriter() {
+    }
+
+    /**
+     * Écrit le labyrinthe dans un fichier binaire (le fichier existant est remplacé).
+     * Seules les informations mur / libre et les points de départ et d'arrivée sont enregistrées.
+     *
+     * @param maze     Le labyrinthe à enregistrer.
+     * @param filePath Le chemin du fichier.
+     * @param compress {@code true} pour compresser chaque bloc avec Deflate.
+     * @throws IOException si l'écriture échoue.
+     */
+    public static void write(Maze maze, Path filePath, boolean compress) throws IOException {
+        write(maze, filePath, compress, MazeBinaryFormat.DEFAULT_BLOCK_WORDS);
+    }
+
+    /**
+     * Écrit le labyrinthe avec une taille de bloc choisie.
+     *
+     * @param blockWords Le nombre de mots de 64 bits par bloc.
+     */
+    static void write(Maze maze, Path filePath, boolean compress, int blockWords) throws IOException {
+        BitGrid bits = maze.toBitGrid();
+        int wordCount = bits.getWordCount();
+        int blockCount = (wordCount + blockWords - 1) / blockWords;
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // L'en-tête et la table des blocs sont écrits en dernier, une fois le CRC et les tailles connus.
+            long bodyStart = MazeBinaryFormat.HEADER_SIZE + (compress ? (long) blockCount * Integer.BYTES : 0);
+            channel.position(bodyStart);
+
+            CRC32 crc = new CRC32();
+            int[] compressedSizes = new int[blockCount];
+            ByteBuffer block = ByteBuffer.allocate(blockWords * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            Deflater deflater = compress ? new Deflater() : null;
+            byte[] output = compress ? new byte[block.capacity() + 1024] : null;
+            try {
+                for (int b = 0; b < blockCount; b++) {
+                    int offset = b * blockWords;
+                    int length = Math.min(blockWords, wordCount - offset);
+                    block.clear();
+                    bits.getWords(offset, block.asLongBuffer(), length);
+                    block.limit(length * Long.BYTES);
+                    crc.update(block.array(), 0, block.limit());
+
+                    if (compress) {
+                        deflater.reset();
+                        deflater.setInput(block.array(), 0, block.limit());
+                        deflater.finish();
+                        int size = 0;
+                        while (!deflater.finished()) {
+                            if (size == output.length) {
+                                output = Arrays.copyOf(output, output.length * 2);
+                            }
+                            size += deflater.deflate(output, size, output.length - size);
+                        }
+                        compressedSizes[b] = size;
+                        writeFully(channel, ByteBuffer.wrap(output, 0, size));
+                    } else {
+                        writeFully(channel, block);
+                    }
+                }
+            } finally {
+                if (deflater != null) deflater.end();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate((int) bodyStart).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MazeBinaryFormat.MAGIC);
+            header.putShort((short) MazeBinaryFormat.VERSION);
+            header.putShort((short) (compress ? MazeBinaryFormat.FLAG_DEFLATE : 0));
+            header.putInt(maze.getRows()).putInt(maze.getCols());
+            header.putInt(maze.getStart().x()).putInt(maze.getStart().y());
+            header.putInt(maze.getEnd().x()).putInt(maze.getEnd().y());
+            header.putInt(blockWords).putInt(blockCount);
+            header.putInt((int) crc.getValue());
+            if (compress) {
+                for (int size : compressedSizes) {
+                    header.putInt(size);
+                }
+            }
+            header.flip();
+            channel.position(0);
+            writeFully(channel, header);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
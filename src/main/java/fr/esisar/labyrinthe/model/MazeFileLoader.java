@@ -0,0 +1,159 @@
+package fr.esisar.labyrinthe.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Chargeur de labyrinthes texte pour les très gros fichiers.
+ * Le fichier est projeté en mémoire ({@link FileChannel#map}) et analysé en une seule passe,
+ * directement dans une {@link BitGrid} : aucune ligne n'est matérialisée en {@code String}.
+ * Les points 'S' et 'E' et le caractère rectangulaire sont vérifiés au fil de la lecture ;
+ * les erreurs indiquent la ligne et la colonne concernées (numérotées à partir de 1).
+ * <p>
+ * Le format est celui de {@link Maze#Maze(Path)} : '#' pour un mur, tout autre caractère ASCII pour
+ * une case libre, fins de ligne {@code \n}, {@code \r\n} ou {@code \r}.
+ */
+public final class MazeFileLoader {
+    /**
+     * Taille maximale d'une projection mémoire : un {@link MappedByteBuffer} est limité à 2 Go,
+     * les fichiers plus gros sont projetés par tranches successives.
+     */
+    private static final long MAX_MAPPING = 1L << 30;
+
+    /**
+     * Taille du tampon de recopie : les octets projetés sont lus par blocs plutôt qu'un par un.
+     */
+    private static final int SCRATCH_SIZE = 64 * 1024;
+
+    private MazeFileLoader() {
+    }
+
+    /**
+     * Charge un labyrinthe texte sous forme compacte.
+     *
+     * @param filePath Le chemin du fichier.
+     * @return Le labyrinthe compact correspondant.
+     * @throws IOException si le fichier est illisible, vide, non rectangulaire, contient un caractère
+     *                     non ASCII ou ne contient pas de point 'S' ou 'E'.
+     */
+    public static Maze load(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) throw new IOException("Fichier vide");
+
+            Parser parser = new Parser(size);
+            byte[] scratch = new byte[SCRATCH_SIZE];
+            for (long position = 0; position < size; position += MAX_MAPPING) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAX_MAPPING, size - position));
+                int limit = buffer.limit();
+                for (int offset = 0; offset < limit; offset += SCRATCH_SIZE) {
+                    int length = Math.min(SCRATCH_SIZE, limit - offset);
+                    buffer.get(offset, scratch, 0, length);
+                    parser.consume(scratch, length);
+                }
+            }
+            return parser.finish();
+        }
+    }
+
+    /**
+     * État de l'analyse, conservé d'un bloc d'octets à l'autre.
+     */
+    private static final class Parser {
+        private final long[] words;
+        private int cols = -1;      // Largeur, connue à la fin de la première ligne
+        private int line = 1;       // Ligne courante (à partir de 1)
+        private int col;            // Colonne courante (à partir de 0)
+        private int cell;           // Indice aplati de la prochaine cellule
+        private int startX = -1, startY = -1, endX = -1, endY = -1;
+        private boolean afterCarriageReturn;
+
+        Parser(long fileSize) {
+            // Chaque cellule occupe au moins un octet : la taille du fichier borne le nombre de cellules.
+            this.words = new long[(int) Math.min((fileSize + 63) >>> 6, Integer.MAX_VALUE / 64 + 1)];
+        }
+
+        void consume(byte[] bytes, int length) throws IOException {
+            // Copies locales des compteurs de la boucle chaude, réécrites en fin de bloc
+            long[] words = this.words;
+            int col = this.col;
+            int cell = this.cell;
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[i];
+                if (b == '\n' || b == '\r') {
+                    if (b == '\n' && afterCarriageReturn) {
+                        afterCarriageReturn = false; // Deuxième moitié d'un \r\n
+                        continue;
+                    }
+                    afterCarriageReturn = b == '\r';
+                    cols = endLine(line, col, cols);
+                    line++;
+                    col = 0;
+                    continue;
+                }
+                afterCarriageReturn = false;
+
+                if (b < 0) {
+                    throw new IOException("Caractère non ASCII ligne " + line + ", colonne " + (col + 1));
+                }
+                if (cols >= 0 && col >= cols) {
+                    throw new IOException("Labyrinthe non rectangulaire : la ligne " + line
+                            + " dépasse " + cols + " colonnes");
+                }
+                if (cell == Integer.MAX_VALUE) {
+                    throw new IOException("Labyrinthe trop grand (ligne " + line + ")");
+                }
+
+                if (b == '#') {
+                    words[cell >>> 6] |= 1L << cell;
+                } else if (b == 'S' && startX < 0) {
+                    startX = line - 1;
+                    startY = col;
+                } else if (b == 'E' && endX < 0) {
+                    endX = line - 1;
+                    endY = col;
+                }
+                cell++;
+                col++;
+            }
+            this.col = col;
+            this.cell = cell;
+        }
+
+        Maze finish() throws IOException {
+            // Dernière ligne sans fin de ligne
+            int rows = line - 1;
+            if (col > 0 || cols < 0) {
+                cols = endLine(line, col, cols);
+                rows = line;
+            }
+
+            if (startX < 0) throw new IOException("Point 'S' introuvable");
+            if (endX < 0) throw new IOException("Point 'E' introuvable");
+
+            return new Maze(new BitGrid(rows, cols, words), new Point(startX, startY), new Point(endX, endY));
+        }
+    }
+
+    /**
+     * Vérifie la longueur d'une ligne qui se termine.
+     *
+     * @return La largeur du labyrinthe (fixée par la première ligne).
+     * @throws IOException si la ligne est vide ou n'a pas la même largeur que la première.
+     */
+    private static int endLine(int line, int length, int cols) throws IOException {
+        if (cols < 0) {
+            if (length == 0) throw new IOException("Labyrinthe non rectangulaire : la ligne 1 est vide");
+            return length;
+        }
+        if (length != cols) {
+            throw new IOException("Labyrinthe non rectangulaire : la ligne " + line + " a "
+                    + length + " colonnes au lieu de " + cols);
+        }
+        return cols;
+    }
+}
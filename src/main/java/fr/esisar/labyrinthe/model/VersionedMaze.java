@@ -0,0 +1,215 @@
+package fr.esisar.labyrinthe.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Labyrinthe modifiable et versionné, dont on peut prendre des instantanés immuables à bas coût.
+ * <p>
+ * La version courante (la tête) est une {@link BitGrid} modifiée en place. Chaque modification
+ * effective d'une cellule est ajoutée à un journal en ajout seul et incrémente la version : la
+ * version {@code v} est l'état initial après les {@code v} premières entrées du journal.
+ * <p>
+ * Un instantané est un {@link Maze} compact dont la grille partage ses blocs avec la tête
+ * ({@link BitGrid#copy()}) : il coûte un tableau de références, et la tête ne recopie ensuite que
+ * les blocs qu'elle modifie. Plusieurs threads peuvent donc résoudre un même instantané, sans copie
+ * et sans verrou, pendant qu'un éditeur continue de modifier la tête. Tant que la version ne change
+ * pas, {@link #snapshot()} retourne le même labyrinthe, dont les structures dérivées en cache
+ * (composantes connexes, graphes...) sont ainsi partagées par tous les solveurs.
+ * <p>
+ * Les instantanés ne doivent pas être modifiés ({@link Maze#setWall}) : ils sont partagés.
+ */
+public class VersionedMaze {
+    /**
+     * Modification d'une cellule.
+     *
+     * @param version La version produite par la modification.
+     * @param cell    La cellule modifiée.
+     * @param wall    {@code true} si la cellule est devenue un mur, {@code false} si elle a été libérée.
+     */
+    public record Edit(int version, Point cell, boolean wall) {
+    }
+
+    private final int rows;
+    private final int cols;
+    private final Point start;
+    private final Point end;
+    private final BitGrid head;            // Murs de la version courante
+    private long[] log = new long[16];     // Entrée v - 1 : (cellule << 1) | mur, pour la version v
+    private int version;
+    private long fingerprint;              // Empreinte de la version courante, voir Maze#getFingerprint
+    private Maze snapshot;                 // Instantané de la version courante, null s'il n'est pas encore pris
+
+    /**
+     * Crée un labyrinthe versionné dont la version 0 est une copie du labyrinthe donné.
+     * Seuls les murs, le départ et l'arrivée sont conservés.
+     *
+     * @param initial Le labyrinthe initial ; il n'est ni modifié ni lié au labyrinthe versionné.
+     */
+    public VersionedMaze(Maze initial) {
+        this.rows = initial.getRows();
+        this.cols = initial.getCols();
+        this.start = initial.getStart();
+        this.end = initial.getEnd();
+        this.head = initial.toBitGrid().copy();
+        this.fingerprint = initial.getFingerprint();
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public Point getStart() { return start; }
+    public Point getEnd() { return end; }
+
+    /**
+     * @return La version courante, égale au nombre d'entrées du journal.
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return L'empreinte du contenu de la version courante, égale à celle de ses instantanés.
+     */
+    public synchronized long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Indique si une cellule est un mur dans la version courante.
+     *
+     * @return {@code true} pour un mur ou une cellule hors du labyrinthe.
+     */
+    public synchronized boolean isWall(int x, int y) {
+        return x < 0 || x >= rows || y < 0 || y >= cols || head.isWall(x * cols + y);
+    }
+
+    /**
+     * Transforme une cellule de la tête en mur ou la libère. Une modification sans effet n'est pas
+     * journalisée et ne change pas la version.
+     *
+     * @param x    La ligne.
+     * @param y    La colonne.
+     * @param wall {@code true} pour un mur, {@code false} pour une cellule libre.
+     * @return {@code true} si la cellule a changé, et donc la version.
+     * @throws IllegalArgumentException si la cellule est hors du labyrinthe.
+     */
+    public synchronized boolean setWall(int x, int y, boolean wall) {
+        int cell = cellIndex(x, y);
+        if (head.isWall(cell) == wall) {
+            return false;
+        }
+        head.setWall(cell, wall);
+        if (version == log.length) {
+            log = Arrays.copyOf(log, version * 2);
+        }
+        log[version++] = ((long) cell << 1) | (wall ? 1 : 0);
+        fingerprint ^= Maze.cellKey(cell);
+        snapshot = null;
+        return true;
+    }
+
+    /**
+     * Retourne un instantané immuable de la version courante. Tant que la version ne change pas, le
+     * même labyrinthe est retourné.
+     *
+     * @return Un labyrinthe compact, à ne pas modifier.
+     */
+    public synchronized Maze snapshot() {
+        if (snapshot == null) {
+            snapshot = new Maze(head.copy(), start, end);
+            snapshot.setFingerprint(fingerprint);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Retourne un instantané d'une version passée, reconstruit en annulant sur une copie de la tête
+     * les modifications postérieures, en temps proportionnel à leur nombre.
+     *
+     * @param version La version, entre 0 et la version courante.
+     * @return Un labyrinthe compact, à ne pas modifier.
+     * @throws IllegalArgumentException si la version n'existe pas.
+     */
+    public synchronized Maze snapshot(int version) {
+        checkVersion(version);
+        if (version == this.version) {
+            return snapshot();
+        }
+        BitGrid walls = head.copy();
+        long hash = fingerprint;
+        for (int v = this.version; v > version; v--) {
+            long entry = log[v - 1];
+            int cell = (int) (entry >>> 1);
+            walls.setWall(cell, (entry & 1) == 0); // Chaque entrée inverse la cellule
+            hash ^= Maze.cellKey(cell);
+        }
+        Maze past = new Maze(walls, start, end);
+        past.setFingerprint(hash);
+        return past;
+    }
+
+    /**
+     * Retourne les entrées du journal postérieures à une version, dans l'ordre.
+     *
+     * @param fromVersion La version de référence.
+     * @return Les modifications qui mènent de {@code fromVersion} à la version courante.
+     * @throws IllegalArgumentException si la version n'existe pas.
+     */
+    public synchronized List<Edit> getEdits(int fromVersion) {
+        checkVersion(fromVersion);
+        List<Edit> edits = new ArrayList<>(version - fromVersion);
+        for (int v = fromVersion + 1; v <= version; v++) {
+            edits.add(edit(v));
+        }
+        return edits;
+    }
+
+    /**
+     * Retourne les différences nettes entre deux versions : les cellules dont l'état diffère, une fois
+     * chacune, avec leur état dans {@code toVersion}. Une cellule modifiée puis rétablie n'y figure pas.
+     *
+     * @param fromVersion La version de départ.
+     * @param toVersion   La version d'arrivée, supérieure ou égale.
+     * @return Les cellules modifiées, dans l'ordre de leur dernière modification.
+     * @throws IllegalArgumentException si une version n'existe pas ou si {@code fromVersion > toVersion}.
+     */
+    public synchronized List<Edit> diff(int fromVersion, int toVersion) {
+        checkVersion(fromVersion);
+        checkVersion(toVersion);
+        if (fromVersion > toVersion) {
+            throw new IllegalArgumentException("Versions dans le désordre : " + fromVersion + " > " + toVersion);
+        }
+        // Chaque entrée inverse la cellule : un nombre pair d'entrées la laisse inchangée, et pour un
+        // nombre impair la dernière entrée, seule conservée, donne l'état final
+        Map<Integer, Edit> changes = new LinkedHashMap<>();
+        for (int v = fromVersion + 1; v <= toVersion; v++) {
+            int cell = (int) (log[v - 1] >>> 1);
+            if (changes.remove(cell) == null) {
+                changes.put(cell, edit(v));
+            }
+        }
+        return new ArrayList<>(changes.values());
+    }
+
+    private Edit edit(int version) {
+        long entry = log[version - 1];
+        int cell = (int) (entry >>> 1);
+        return new Edit(version, new Point(cell / cols, cell % cols), (entry & 1) != 0);
+    }
+
+    private int cellIndex(int x, int y) {
+        if (x < 0 || x >= rows || y < 0 || y >= cols) {
+            throw new IllegalArgumentException("Cellule hors du labyrinthe : (" + x + ", " + y + ")");
+        }
+        return x * cols + y;
+    }
+
+    private void checkVersion(int version) {
+        if (version < 0 || version > this.version) {
+            throw new IllegalArgumentException("Version inexistante : " + version);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package fr.esisar.labyrinthe.ui;
 
+import fr.esisar.labyrinthe.algorithm.SolverCapabilities;
+import fr.esisar.labyrinthe.algorithm.SolverResult;
 import fr.esisar.labyrinthe.model.MazeAnalyzer;
 import javafx.geometry.Insets;
 import javafx.scene.chart.BarChart;
@@ -17,13 +19,14 @@ import javafx.scene.text.FontWeight;
 import java.util.Map;
 
 /**
- * Vue pour comparer les performances des algorithmes de résolution de labyrinthes.
+ * Vue pour comparer les performances des algorithmes de résolution de labyrinthes, à partir des
+ * statistiques calculées au préalable par {@link MazeAnalyzer#analyzeMaze}.
  */
 public class AlgorithmComparisonView extends VBox {
-    private final MazeAnalyzer analyzer;
+    private final Map<String, Object> stats;
 
-    public AlgorithmComparisonView(MazeAnalyzer analyzer) {
-        this.analyzer = analyzer;
+    public AlgorithmComparisonView(Map<String, Object> stats) {
+        this.stats = stats;
         this.setPadding(new Insets(10));
         this.setSpacing(15);
         this.setStyle("-fx-background-color: #f4f4f4;");
@@ -32,12 +35,16 @@ public class AlgorithmComparisonView extends VBox {
     }
 
     private void createUI() {
-        Map<String, Object> stats = analyzer.analyzeMaze();
-
         // Titre
         Label titleLabel = new Label("Comparaison des Algorithmes");
         titleLabel.setFont(Font.font("System", FontWeight.BOLD, 18));
         titleLabel.setPadding(new Insets(0, 0, 10, 0));
+        this.getChildren().add(titleLabel);
+
+        if (!(Boolean) stats.get("complete")) {
+            this.getChildren().add(new Label(
+                    "Analyse incomplète : les algorithmes interrompus n'ont que des mesures partielles."));
+        }
 
         // Grille des statistiques
         TitledPane statsPane = createStatsPane(stats);
@@ -45,7 +52,7 @@ public class AlgorithmComparisonView extends VBox {
         // Diagramme de comparaison des algorithmes
         TitledPane chartPane = createChartPane(stats);
 
-        this.getChildren().addAll(titleLabel, statsPane, chartPane);
+        this.getChildren().addAll(statsPane, chartPane);
     }
 
     private TitledPane createStatsPane(Map<String, Object> stats) {
@@ -56,33 +63,24 @@ public class AlgorithmComparisonView extends VBox {
 
         int row = 0;
 
-        // Statistiques de base
-        grid.add(createBoldLabel("Étapes BFS:"), 0, row);
-        grid.add(new Label(stats.get("bfsSteps").toString()), 1, row++);
-
-        grid.add(createBoldLabel("Étapes DFS:"), 0, row);
-        grid.add(new Label(stats.get("dfsSteps").toString()), 1, row++);
-
-        grid.add(createBoldLabel("Étapes A*:"), 0, row);
-        grid.add(new Label(stats.get("aStarSteps").toString()), 1, row++);
-
-        grid.add(createBoldLabel("Temps BFS (ms):"), 0, row);
-        grid.add(new Label(String.format("%.3f", (Long) stats.get("bfsTime") / 1_000_000.0)), 1, row++);
-
-        grid.add(createBoldLabel("Temps DFS (ms):"), 0, row);
-        grid.add(new Label(String.format("%.3f", (Long) stats.get("dfsTime") / 1_000_000.0)), 1, row++);
-
-        grid.add(createBoldLabel("Temps A* (ms):"), 0, row);
-        grid.add(new Label(String.format("%.3f", (Long) stats.get("aStarTime") / 1_000_000.0)), 1, row++);
-
-        grid.add(createBoldLabel("Longueur du chemin BFS:"), 0, row);
-        grid.add(new Label(stats.get("bfsPathLength").toString()), 1, row++);
-
-        grid.add(createBoldLabel("Longueur du chemin DFS:"), 0, row);
-        grid.add(new Label(stats.get("dfsPathLength").toString()), 1, row++);
-
-        grid.add(createBoldLabel("Longueur du chemin A*:"), 0, row);
-        grid.add(new Label(stats.get("aStarPathLength").toString()), 1, row++);
+        // En-têtes
+        grid.add(createBoldLabel("Algorithme"), 0, row);
+        grid.add(createBoldLabel("Étapes"), 1, row);
+        grid.add(createBoldLabel("Temps (ms)"), 2, row);
+        grid.add(createBoldLabel("Longueur du chemin"), 3, row);
+        grid.add(createBoldLabel("Frontière max."), 4, row);
+        grid.add(createBoldLabel("Caractéristiques"), 5, row++);
+
+        // Une ligne par algorithme enregistré
+        for (Map.Entry<String, Map<String, Object>> entry : getSolverStats(stats).entrySet()) {
+            Map<String, Object> measures = entry.getValue();
+            grid.add(createBoldLabel(entry.getKey() + ":"), 0, row);
+            grid.add(new Label(measures.get("steps").toString()), 1, row);
+            grid.add(new Label(String.format("%.3f", (Long) measures.get("time") / 1_000_000.0)), 2, row);
+            grid.add(new Label(describePathLength(measures)), 3, row);
+            grid.add(new Label(measures.get("peakFrontier").toString()), 4, row);
+            grid.add(new Label(((SolverCapabilities) measures.get("capabilities")).describe()), 5, row++);
+        }
 
         TitledPane statsPane = new TitledPane("Statistiques des Algorithmes", grid);
         statsPane.setExpanded(true);
@@ -98,26 +96,20 @@ public class AlgorithmComparisonView extends VBox {
         BarChart<String, Number> barChart = new BarChart<>(xAxis, yAxis);
         barChart.setTitle("Comparaison des Performances des Algorithmes");
 
-        // Série des étapes
         XYChart.Series<String, Number> stepsSeries = new XYChart.Series<>();
         stepsSeries.setName("Étapes");
-        stepsSeries.getData().add(new XYChart.Data<>("BFS", (Integer) stats.get("bfsSteps")));
-        stepsSeries.getData().add(new XYChart.Data<>("DFS", (Integer) stats.get("dfsSteps")));
-        stepsSeries.getData().add(new XYChart.Data<>("A*", (Integer) stats.get("aStarSteps")));
-
-        // Série du temps
         XYChart.Series<String, Number> timeSeries = new XYChart.Series<>();
         timeSeries.setName("Temps (ms)");
-        timeSeries.getData().add(new XYChart.Data<>("BFS", (Long) stats.get("bfsTime") / 1_000_000.0));
-        timeSeries.getData().add(new XYChart.Data<>("DFS", (Long) stats.get("dfsTime") / 1_000_000.0));
-        timeSeries.getData().add(new XYChart.Data<>("A*", (Long) stats.get("aStarTime") / 1_000_000.0));
-
-        // Série de la longueur du chemin
         XYChart.Series<String, Number> pathLengthSeries = new XYChart.Series<>();
         pathLengthSeries.setName("Longueur du chemin");
-        pathLengthSeries.getData().add(new XYChart.Data<>("BFS", (Integer) stats.get("bfsPathLength")));
-        pathLengthSeries.getData().add(new XYChart.Data<>("DFS", (Integer) stats.get("dfsPathLength")));
-        pathLengthSeries.getData().add(new XYChart.Data<>("A*", (Integer) stats.get("aStarPathLength")));
+
+        for (Map.Entry<String, Map<String, Object>> entry : getSolverStats(stats).entrySet()) {
+            String name = entry.getKey();
+            Map<String, Object> measures = entry.getValue();
+            stepsSeries.getData().add(new XYChart.Data<>(name, (Integer) measures.get("steps")));
+            timeSeries.getData().add(new XYChart.Data<>(name, (Long) measures.get("time") / 1_000_000.0));
+            pathLengthSeries.getData().add(new XYChart.Data<>(name, (Integer) measures.get("pathLength")));
+        }
 
         barChart.getData().addAll(stepsSeries, timeSeries, pathLengthSeries);
 
@@ -126,6 +118,21 @@ public class AlgorithmComparisonView extends VBox {
         return chartPane;
     }
 
+    private String describePathLength(Map<String, Object> measures) {
+        return switch ((SolverResult.Status) measures.get("status")) {
+            case FOUND -> measures.get("pathLength").toString();
+            case NO_PATH -> "aucun chemin";
+            case TIMED_OUT -> "délai dépassé";
+            case CANCELLED -> "annulé";
+            case STEP_LIMIT -> "limite d'étapes";
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> getSolverStats(Map<String, Object> stats) {
+        return (Map<String, Map<String, Object>>) stats.get("solvers");
+    }
+
     private Label createBoldLabel(String text) {
         Label label = new Label(text);
         label.setFont(Font.font("System", FontWeight.BOLD, 12));
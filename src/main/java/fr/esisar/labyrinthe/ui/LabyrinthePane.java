@@ -8,11 +8,10 @@ import javafx.scene.shape.Rectangle;
 public class LabyrinthePane extends Pane {
     private static final int CELL_SIZE = 30;
     private final Maze maze;
-    private char[][] currentGrid;
+    private char[][] currentGrid; // Grille résolue à afficher, null pour afficher le labyrinthe lui-même
 
     public LabyrinthePane(Maze maze) {
         this.maze = maze;
-        this.currentGrid = maze.getGrid();
         drawMaze();
     }
 
@@ -33,10 +32,11 @@ public class LabyrinthePane extends Pane {
     }
 
     private Color getColorForCell(int x, int y) {
-        if (currentGrid[x][y] == '#') return Color.BLACK;
-        if (currentGrid[x][y] == '+') return Color.YELLOW;
-        if (currentGrid[x][y] == 'S') return Color.GREEN;
-        if (currentGrid[x][y] == 'E') return Color.RED;
+        char cell = currentGrid != null ? currentGrid[x][y] : maze.getCell(x, y);
+        if (cell == '#') return Color.BLACK;
+        if (cell == '+') return Color.YELLOW;
+        if (cell == 'S') return Color.GREEN;
+        if (cell == 'E') return Color.RED;
         return Color.WHITE;
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package fr.esisar.labyrinthe.algorithm;
+
+import fr.esisar.labyrinthe.generator.MazeGenerator;
+import fr.esisar.labyrinthe.model.Maze;
+import fr.esisar.labyrinthe.model.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Vérifie les distances de {@link ContractionHierarchy} par rapport à un parcours en largeur, et le
+ * rejet des fichiers de hiérarchie corrompus.
+ */
+class ContractionHierarchyTest {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    @Test
+    void distancesMatchBreadthFirstSearch() {
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            Maze maze = MazeGenerator.generate(41, 41, algorithm);
+            ContractionHierarchy hierarchy = ContractionHierarchy.of(maze);
+            Point source = maze.getStart();
+            int[] expected = bfsDistances(maze, source);
+            for (int x = 0; x < maze.getRows(); x++) {
+                for (int y = 0; y < maze.getCols(); y++) {
+                    if (!maze.isWall(x, y)) {
+                        assertEquals(expected[x * maze.getCols() + y], hierarchy.distance(source, new Point(x, y)),
+                                algorithm + " : distance de " + source + " à (" + x + ", " + y + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void distanceToSelfAndNeighbourIsZeroAndOne() {
+        Maze maze = MazeGenerator.generate(21, 21, MazeGenerator.Algorithm.KRUSKAL);
+        ContractionHierarchy hierarchy = ContractionHierarchy.of(maze);
+        Point start = maze.getStart();
+        assertEquals(0, hierarchy.distance(start, start));
+        for (int[] dir : DIRECTIONS) {
+            Point neighbour = new Point(start.x() + dir[0], start.y() + dir[1]);
+            if (!maze.isWall(neighbour.x(), neighbour.y())) {
+                assertEquals(1, hierarchy.distance(start, neighbour));
+            }
+        }
+    }
+
+    @Test
+    void corruptSidecarIsRejectedAndRebuilt(@TempDir Path dir) throws IOException {
+        Maze maze = MazeGenerator.generate(21, 21, MazeGenerator.Algorithm.KRUSKAL);
+        Path mazeFile = dir.resolve("maze.txt");
+        Path sidecar = ContractionHierarchy.sidecarPath(mazeFile);
+        ContractionHierarchy.of(maze).write(sidecar);
+        ContractionHierarchy.read(sidecar, maze);
+
+        // Un octet du corps modifié : l'en-tête reste valide, mais pas la somme de contrôle
+        byte[] bytes = Files.readAllBytes(sidecar);
+        bytes[bytes.length - 5] ^= 0x10;
+        Files.write(sidecar, bytes);
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(sidecar, maze));
+
+        // loadOrBuild écarte le fichier corrompu et le remplace par une hiérarchie valide
+        assertNotNull(ContractionHierarchy.loadOrBuild(maze, mazeFile));
+        ContractionHierarchy.read(sidecar, maze);
+    }
+
+    /**
+     * Distances du parcours en largeur depuis une cellule, -1 pour une cellule inaccessible.
+     */
+    private static int[] bfsDistances(Maze maze, Point source) {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[rows * cols];
+        int head = 0;
+        int tail = 0;
+        int start = source.x() * cols + source.y();
+        dist[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int[] dir : DIRECTIONS) {
+                int nx = current / cols + dir[0];
+                int ny = current % cols + dir[1];
+                int next = nx * cols + ny;
+                if (!maze.isWall(nx, ny) && dist[next] < 0) {
+                    dist[next] = dist[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return dist;
+    }
+}